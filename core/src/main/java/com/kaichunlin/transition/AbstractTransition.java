@@ -6,6 +6,8 @@ import android.support.annotation.Nullable;
 import android.view.View;
 import android.view.animation.Interpolator;
 
+import com.kaichunlin.transition.util.BakedInterpolator;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -17,12 +19,47 @@ import java.util.List;
  * Created by Kai-Chun Lin on 2015/4/18.
  */
 public abstract class AbstractTransition<T extends AbstractTransition, S extends AbstractTransition.Setup> implements Transition<S> {
+    /**
+     * Decorative transitions, the first to be updated less often when the {@link FrameBudget} is exceeded
+     */
+    public static final int PRIORITY_LOW = -1;
+    /**
+     * Default priority
+     */
+    public static final int PRIORITY_NORMAL = 0;
+    /**
+     * Transitions that must be updated every frame, e.g. the position of the View being dragged
+     */
+    public static final int PRIORITY_HIGH = 1;
+
+    /**
+     * Orders the setups of builders and specs by descending start of their range, other setups are placed after them
+     */
+    private static final Comparator<Setup> SETUP_ORDER = new Comparator<Setup>() {
+        @Override
+        public int compare(Setup lhs, Setup rhs) {
+            final boolean lhsOrdered = isOrdered(lhs);
+            final boolean rhsOrdered = isOrdered(rhs);
+            if (lhsOrdered && rhsOrdered) {
+                return Float.compare(getSortStart(rhs), getSortStart(lhs));
+            }
+            if (lhsOrdered != rhsOrdered) {
+                return lhsOrdered ? -1 : 1;
+            }
+            return 0;
+        }
+    };
+
     List<S> mSetupList = new ArrayList<>();
+    //false once setSetup() has appended a setup, the list is then sorted by the next merge
+    private boolean mSetupListOrdered = true;
     String mId;
     boolean mReverse;
     Interpolator mInterpolator;
     View mTarget;
     boolean mUpdateStateAfterUpdateProgress;
+    boolean mHardwareLayerEnabled = true;
+    int mPriority = PRIORITY_NORMAL;
 
     public AbstractTransition(@Nullable String id) {
         this.mId = id;
@@ -48,14 +85,29 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
         return false;
     }
 
+    /**
+     * Starts the transition, updates it to the given progress, then stops it; subclasses able to apply a progress
+     * without going through the start/stop lifecycle should override this
+     *
+     * @param progress
+     */
     @Override
     public void setProgress(float progress) {
-        //TODO optimize
         startTransition();
         updateProgress(progress);
         stopTransition();
     }
 
+    /**
+     * Puts the target views back to their state at the progress the transition was last started at, without restarting
+     * the transition
+     *
+     * @return false if the state could not be restored, in which case nothing is modified
+     */
+    public boolean restoreStartState() {
+        return false;
+    }
+
     @Override
     public T reverse() {
         String id = getId();
@@ -74,6 +126,7 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
     public T setSetup(@NonNull S setup) {
         if (setup != null) {
             mSetupList.add(setup);
+            mSetupListOrdered = mSetupList.size() == 1;
         }
         return self();
     }
@@ -103,6 +156,37 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
         return self();
     }
 
+    /**
+     * @param hardwareLayerEnabled whether or not Views transiting alpha, rotation or scale are switched to a hardware
+     *                             layer while the transition is running, enabled by default
+     * @return
+     */
+    public T setHardwareLayerEnabled(boolean hardwareLayerEnabled) {
+        mHardwareLayerEnabled = hardwareLayerEnabled;
+        invalidate();
+        return self();
+    }
+
+    public boolean isHardwareLayerEnabled() {
+        return mHardwareLayerEnabled;
+    }
+
+    /**
+     * @param priority one of {@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL} or {@link #PRIORITY_HIGH}, see {@link FrameBudget}
+     * @return itself
+     */
+    public T setPriority(int priority) {
+        mPriority = priority;
+        return self();
+    }
+
+    /**
+     * @return the priority of the transition, {@link #PRIORITY_NORMAL} by default
+     */
+    public int getPriority() {
+        return mPriority;
+    }
+
     /**
      * Invalidates the current transition, which may mean the currently running transition is stopped
      */
@@ -132,17 +216,106 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
     }
 
     public boolean compatible(AbstractTransition another) {
-        if (getClass().equals(another.getClass()) && mTarget == another.mTarget && mReverse == another.mReverse && ((mInterpolator == null && another.mInterpolator == null) ||
-                mInterpolator.getClass().equals(another.mInterpolator.getClass()))) {
+        if (getClass().equals(another.getClass()) && mTarget == another.mTarget && mReverse == another.mReverse && compatible(mInterpolator, another.mInterpolator)) {
             return true;
         }
         return false;
     }
 
+    /**
+     * @return a key equal to the key of every transition {@link #compatible(AbstractTransition)} with this one, as long
+     * as neither transition is modified
+     */
+    MergeKey getMergeKey() {
+        return new MergeKey(this);
+    }
+
+    private static boolean compatible(Interpolator interpolator, Interpolator another) {
+        if (interpolator == null || another == null) {
+            return interpolator == another;
+        }
+        //identical curves share the same BakedInterpolator
+        if (interpolator instanceof BakedInterpolator || another instanceof BakedInterpolator) {
+            return interpolator == another;
+        }
+        return interpolator.getClass().equals(another.getClass());
+    }
+
+    /**
+     * Merges the setups of another compatible transition into this one, the setups are kept ordered by
+     * {@link #SETUP_ORDER}
+     *
+     * @param another
+     * @return false if the transition is not compatible, see {@link #compatible(AbstractTransition)}
+     */
     public boolean merge(AbstractTransition another) {
         if (!compatible(another)) {
             return false;
         }
+        mergeState(another);
+        orderSetupList();
+        final List<S> setupList = another.mSetupList;
+        final int size = setupList.size();
+        for (int i = 0; i < size; i++) {
+            insertSetup(setupList.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Merges a batch of compatible transitions in a single pass, equivalent to calling {@link #merge(AbstractTransition)}
+     * for each of them
+     *
+     * @param transitions
+     * @return false if any of the transitions is not compatible, in which case nothing is merged
+     */
+    public boolean mergeAll(@NonNull List<? extends AbstractTransition> transitions) {
+        int size = transitions.size();
+        for (int i = 0; i < size; i++) {
+            if (!compatible(transitions.get(i))) {
+                return false;
+            }
+        }
+        List<S> batch = new ArrayList<>();
+        AbstractTransition<?, S> another;
+        for (int i = 0; i < size; i++) {
+            another = transitions.get(i);
+            mergeState(another);
+            batch.addAll(another.mSetupList);
+        }
+        //stable, so setups with the same start keep the order they were merged in
+        Collections.sort(batch, SETUP_ORDER);
+        orderSetupList();
+
+        final List<S> setupList = mSetupList;
+        size = setupList.size();
+        final int batchSize = batch.size();
+        final List<S> merged = new ArrayList<>(size + batchSize);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < batchSize) {
+            if (SETUP_ORDER.compare(setupList.get(i), batch.get(j)) <= 0) {
+                merged.add(setupList.get(i++));
+            } else {
+                merged.add(batch.get(j++));
+            }
+        }
+        while (i < size) {
+            merged.add(setupList.get(i++));
+        }
+        while (j < batchSize) {
+            merged.add(batch.get(j++));
+        }
+        mSetupList = merged;
+        return true;
+    }
+
+    /**
+     * Merges everything but the setups of a compatible transition
+     *
+     * @param another
+     */
+    void mergeState(AbstractTransition another) {
         if (another.mId != null) {
             if (mId == null) {
                 mId = another.mId;
@@ -151,22 +324,102 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
             }
         }
         mUpdateStateAfterUpdateProgress |= another.mUpdateStateAfterUpdateProgress;
-        mSetupList.addAll(another.mSetupList);
-        Collections.sort(mSetupList, new Comparator<S>() {
-            @Override
-            public int compare(S lhs, S rhs) {
-                if (lhs instanceof AbstractTransitionBuilder && rhs instanceof AbstractTransitionBuilder) {
-                    AbstractTransitionBuilder left = (AbstractTransitionBuilder) lhs;
-                    AbstractTransitionBuilder right = (AbstractTransitionBuilder) rhs;
-                    float startLeft = left.mReverse ? left.mEnd : left.mStart;
-                    float startRight = right.mReverse ? right.mEnd : right.mStart;
-                    return (int) ((startRight - startLeft) * 1000);
-                }
-                return 0;
+        mHardwareLayerEnabled &= another.mHardwareLayerEnabled;
+        mPriority = Math.max(mPriority, another.mPriority);
+    }
+
+    /**
+     * Sorts the setups appended by {@link #setSetup(Setup)}, done once before the first merge since then
+     */
+    private void orderSetupList() {
+        if (mSetupListOrdered) {
+            return;
+        }
+        Collections.sort(mSetupList, SETUP_ORDER);
+        mSetupListOrdered = true;
+    }
+
+    /**
+     * Inserts the setup after all the setups that do not come after it according to {@link #SETUP_ORDER}, the list
+     * must already be ordered, see {@link #orderSetupList()}
+     */
+    private void insertSetup(S setup) {
+        final List<S> setupList = mSetupList;
+        int low = 0;
+        int high = setupList.size();
+        int mid;
+        while (low < high) {
+            mid = (low + high) >>> 1;
+            if (SETUP_ORDER.compare(setupList.get(mid), setup) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
-        });
+        }
+        setupList.add(low, setup);
+    }
 
-        return true;
+    private static boolean isOrdered(Setup setup) {
+        return setup instanceof AbstractTransitionBuilder || setup instanceof TransitionSpec;
+    }
+
+    private static float getSortStart(Setup setup) {
+        if (setup instanceof TransitionSpec) {
+            return ((TransitionSpec) setup).getSortStart();
+        }
+        AbstractTransitionBuilder builder = (AbstractTransitionBuilder) setup;
+        return builder.mReverse ? builder.mEnd : builder.mStart;
+    }
+
+    /**
+     * Identifies transitions that can be merged with each other, mirrors {@link #compatible(AbstractTransition)}
+     */
+    static final class MergeKey {
+        private final Class<?> mClass;
+        private final View mTarget;
+        private final boolean mReverse;
+        //null, the BakedInterpolator itself since identical curves share the same instance, or the class of the Interpolator
+        private final Object mInterpolator;
+        //additional state checked by the compatible() of a subclass
+        private final int mVariant;
+        private final int mHashCode;
+
+        MergeKey(@NonNull AbstractTransition transition) {
+            this(transition, 0);
+        }
+
+        MergeKey(@NonNull AbstractTransition transition, int variant) {
+            mClass = transition.getClass();
+            mTarget = transition.mTarget;
+            mReverse = transition.mReverse;
+            final Interpolator interpolator = transition.mInterpolator;
+            mInterpolator = interpolator == null || interpolator instanceof BakedInterpolator ? interpolator : interpolator.getClass();
+            int hashCode = mClass.hashCode();
+            hashCode = 31 * hashCode + System.identityHashCode(mTarget);
+            hashCode = 31 * hashCode + (mReverse ? 1 : 0);
+            hashCode = 31 * hashCode + (mInterpolator == null ? 0 : mInterpolator.hashCode());
+            mVariant = variant;
+            hashCode = 31 * hashCode + variant;
+            mHashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MergeKey)) {
+                return false;
+            }
+            MergeKey key = (MergeKey) o;
+            return mClass == key.mClass && mTarget == key.mTarget && mReverse == key.mReverse && mInterpolator == key.mInterpolator
+                    && mVariant == key.mVariant;
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
     }
 
     /**
@@ -4,17 +4,23 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
-import android.support.v4.util.ArrayMap;
+import android.support.annotation.Nullable;
 import android.view.View;
 import android.view.animation.Interpolator;
 
 import com.kaichunlin.transition.animation.Animation;
 import com.kaichunlin.transition.animation.AnimationManager;
 import com.kaichunlin.transition.animation.TransitionAnimation;
+import com.kaichunlin.transition.internal.KeyframeTrack;
+import com.kaichunlin.transition.internal.PropertyTransitionController;
 import com.kaichunlin.transition.internal.TransitionController;
-import com.nineoldandroids.animation.PropertyValuesHolder;
+import com.kaichunlin.transition.internal.TransitionControllerManager;
+import com.kaichunlin.transition.internal.ViewProperties;
+import com.kaichunlin.transition.util.BakedInterpolator;
+import com.nineoldandroids.util.Property;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -37,14 +43,16 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
     public static final String X = "x";
     public static final String Y = "y";
 
-    ArrayMap<String, PropertyValuesHolder> mHolders = new ArrayMap<>();
-    ArrayMap<String, ShadowValuesHolder> mShadowHolders = new ArrayMap<>();
+    //indexed by the ViewProperty index of the property, null if the property is not transited
+    ShadowValuesHolder[] mShadowHolders = new ShadowValuesHolder[ViewProperties.COUNT];
     List<DelayedEvaluator<T>> mDelayed = new ArrayList<>();
     float mStart = TransitionController.DEFAULT_START;
     float mEnd = TransitionController.DEFAULT_END;
     String mId;
     boolean mReverse;
     Interpolator mInterpolator;
+    boolean mHardwareLayer = true;
+    int mPriority = AbstractTransition.PRIORITY_NORMAL;
     int mDuration;
 
     AbstractTransitionBuilder() {
@@ -117,7 +125,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T alpha(float... vals) {
-        transitFloat(ALPHA, vals);
+        transitFloat(ViewProperty.ALPHA, vals);
         return self();
     }
 
@@ -153,7 +161,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T rotation(float... vals) {
-        transitFloat(ROTATION, vals);
+        transitFloat(ViewProperty.ROTATION, vals);
         return self();
     }
 
@@ -188,7 +196,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T rotationX(float... vals) {
-        transitFloat(ROTATION_X, vals);
+        transitFloat(ViewProperty.ROTATION_X, vals);
         return self();
     }
 
@@ -223,7 +231,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T rotationY(float... vals) {
-        transitFloat(ROTATION_Y, vals);
+        transitFloat(ViewProperty.ROTATION_Y, vals);
         return self();
     }
 
@@ -258,7 +266,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T scaleX(float... vals) {
-        transitFloat(SCALE_X, vals);
+        transitFloat(ViewProperty.SCALE_X, vals);
         return self();
     }
 
@@ -293,7 +301,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T scaleY(float... vals) {
-        transitFloat(SCALE_Y, vals);
+        transitFloat(ViewProperty.SCALE_Y, vals);
         return self();
     }
 
@@ -328,8 +336,8 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T scale(float... vals) {
-        transitFloat(SCALE_X, vals);
-        transitFloat(SCALE_Y, vals);
+        transitFloat(ViewProperty.SCALE_X, vals);
+        transitFloat(ViewProperty.SCALE_Y, vals);
         return self();
     }
 
@@ -364,7 +372,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T translationX(float... vals) {
-        transitFloat(TRANSLATION_X, vals);
+        transitFloat(ViewProperty.TRANSLATION_X, vals);
         return self();
     }
 
@@ -399,7 +407,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T translationY(float... vals) {
-        transitFloat(TRANSLATION_Y, vals);
+        transitFloat(ViewProperty.TRANSLATION_Y, vals);
         return self();
     }
 
@@ -434,7 +442,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T x(float... vals) {
-        transitFloat(X, vals);
+        transitFloat(ViewProperty.X, vals);
         return self();
     }
 
@@ -469,7 +477,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T y(float... vals) {
-        transitFloat(Y, vals);
+        transitFloat(ViewProperty.Y, vals);
         return self();
     }
 
@@ -516,8 +524,19 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T transitFloat(@NonNull String property, float... vals) {
-        mHolders.put(property, PropertyValuesHolder.ofFloat(property, vals));
-        mShadowHolders.put(property, ShadowValuesHolder.ofFloat(property, vals));
+        putShadowHolder(new ShadowValuesHolder(ViewProperty.indexOf(property), null, KeyframeTrack.ofFloat(vals)));
+        return self();
+    }
+
+    /**
+     * Transits a float property from the start value to the end value, see {@link ViewProperty}
+     *
+     * @param property
+     * @param vals
+     * @return self
+     */
+    public T transitFloat(@NonNull Property<View, Float> property, float... vals) {
+        putShadowHolder(new ShadowValuesHolder(ViewProperty.indexOf(property.getName()), property, KeyframeTrack.ofFloat(vals)));
         return self();
     }
 
@@ -543,11 +562,29 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T transitInt(@NonNull String property, int... vals) {
-        mHolders.put(property, PropertyValuesHolder.ofInt(property, vals));
-        mShadowHolders.put(property, ShadowValuesHolder.ofInt(property, vals));
+        putShadowHolder(new ShadowValuesHolder(ViewProperty.indexOf(property), null, KeyframeTrack.ofInt(vals)));
+        return self();
+    }
+
+    /**
+     * Transits an integer property from the start value to the end value, see {@link ViewProperty}
+     *
+     * @param property
+     * @param vals
+     * @return self
+     */
+    public T transitInt(@NonNull Property<View, Integer> property, int... vals) {
+        putShadowHolder(new ShadowValuesHolder(ViewProperty.indexOf(property.getName()), property, KeyframeTrack.ofInt(vals)));
         return self();
     }
 
+    private void putShadowHolder(@NonNull ShadowValuesHolder holder) {
+        if (holder.index >= mShadowHolders.length) {
+            mShadowHolders = Arrays.copyOf(mShadowHolders, holder.index + 1);
+        }
+        mShadowHolders[holder.index] = holder;
+    }
+
 //    /**
 //     * Transits an integer property from the start value to the end value
 //     *
@@ -572,8 +609,38 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         return self();
     }
 
+    /**
+     * Sets the Interpolator of the transition, if enabled by {@link TransitionConfig#setBakeInterpolators(boolean)} it is
+     * replaced by a {@link BakedInterpolator} shared by all transitions using the same curve
+     *
+     * @param interpolator
+     * @return self
+     */
     public T interpolator(Interpolator interpolator) {
-        mInterpolator = interpolator;
+        mInterpolator = TransitionConfig.isBakeInterpolators() ? BakedInterpolator.bake(interpolator) : interpolator;
+        return self();
+    }
+
+    /**
+     * Views transiting alpha, rotation or scale are switched to a hardware layer while the transition is running, this
+     * allows opting out, for example when the View changes its content during the transition
+     *
+     * @param enable
+     * @return self
+     */
+    public T hardwareLayer(boolean enable) {
+        mHardwareLayer = enable;
+        return self();
+    }
+
+    /**
+     * See {@link AbstractTransition#setPriority(int)}
+     *
+     * @param priority
+     * @return self
+     */
+    public T priority(int priority) {
+        mPriority = priority;
         return self();
     }
 
@@ -593,6 +660,10 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
     public final S build() {
         S vt = createTransition();
         vt.setId(mId);
+        if (vt instanceof AbstractTransition) {
+            ((AbstractTransition) vt).setHardwareLayerEnabled(mHardwareLayer);
+            ((AbstractTransition) vt).setPriority(mPriority);
+        }
 
         if (mInterpolator != null) {
             vt.setInterpolator(mInterpolator);
@@ -643,21 +714,31 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
 
     protected abstract T self();
 
+    /**
+     * Creates the {@link TransitionController} for the properties set by {@link #transitFloat(String, float...)} and
+     * {@link #transitInt(String, int...)}: float properties supported by {@link ViewProperties} are compiled into a
+     * {@link PropertyTransitionController}, everything else falls back to an ObjectAnimator
+     *
+     * @param transitionControllerManager
+     * @param target
+     * @param startOffset                 fraction of the range to wait before the properties start to change
+     */
+    void addPropertyTransitionControllers(@NonNull TransitionControllerManager transitionControllerManager, @Nullable View target, float startOffset) {
+        new TransitionSpec(this).addTransitionControllers(transitionControllerManager, target, startOffset);
+    }
+
     @CheckResult
     @Override
     public AbstractTransitionBuilder clone() {
         AbstractTransitionBuilder newCopy = null;
         try {
             newCopy = (AbstractTransitionBuilder) super.clone();
-            newCopy.mHolders = new ArrayMap<>();
-            int size = mHolders.size();
+            newCopy.mShadowHolders = new ShadowValuesHolder[mShadowHolders.length];
+            final int size = mShadowHolders.length;
             for (int i = 0; i < size; i++) {
-                newCopy.mHolders.put(mHolders.keyAt(i), mHolders.valueAt(i).clone());
-            }
-            newCopy.mShadowHolders = new ArrayMap<>();
-            size = mShadowHolders.size();
-            for (int i = 0; i < size; i++) {
-                newCopy.mShadowHolders.put(mShadowHolders.keyAt(i), mShadowHolders.valueAt(i).clone());
+                if (mShadowHolders[i] != null) {
+                    newCopy.mShadowHolders[i] = mShadowHolders[i].clone();
+                }
             }
             newCopy.mDelayed = new ArrayList<>();
             newCopy.mDelayed.addAll(mDelayed);
@@ -668,52 +749,35 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
     }
 
     /**
-     * Holds values so the reversed version of PropertyValuesHolder can be created
+     * Holds the compiled keyframes of a property, a PropertyValuesHolder is only created for the properties that
+     * cannot be handled by {@link PropertyTransitionController}
      */
     static class ShadowValuesHolder implements Cloneable {
-        String property;
-        int[] iVals;
-        float[] fVals;
-        boolean isFloat;
-
-        ShadowValuesHolder(@NonNull String property, float... vals) {
-            this.property = property;
-            fVals=vals;
-            isFloat = true;
-        }
-
-        ShadowValuesHolder(@NonNull String property, int... vals) {
+        //index of the property name in ViewProperty
+        final int index;
+        //the typed property transited, null if transited by name
+        final Property property;
+        KeyframeTrack track;
+        //true if the transition has been reversed, the track is then read through index mirroring
+        boolean reversed;
+
+        ShadowValuesHolder(int index, @Nullable Property property, @NonNull KeyframeTrack track) {
+            this.index = index;
             this.property = property;
-            iVals=vals;
+            this.track = track;
         }
 
-
-        static ShadowValuesHolder ofFloat(@NonNull String property, float... vals) {
-            return new ShadowValuesHolder(property, vals);
-        }
-
-        static ShadowValuesHolder ofInt(@NonNull String property, int... vals) {
-            return new ShadowValuesHolder(property, vals);
+        @CheckResult
+        KeyframeTrack createReverse() {
+            return track.reverse();
         }
 
+        /**
+         * @return the track in the current direction of the transition
+         */
         @CheckResult
-        PropertyValuesHolder createReverse() {
-            final int max;
-            if (isFloat) {
-                float[] newfVals=new float[fVals.length];
-                max=fVals.length;
-                for (int i = 0; i < max; i++) {
-                    newfVals[i]=fVals[max-i-1];
-                }
-                return PropertyValuesHolder.ofFloat(property, newfVals);
-            } else {
-                int[] newiVals=new int[iVals.length];
-                max=iVals.length;
-                for (int i = 0; i < max; i++) {
-                    newiVals[i]=iVals[max-i-1];
-                }
-                return PropertyValuesHolder.ofInt(property, newiVals);
-            }
+        KeyframeTrack getTrack() {
+            return reversed ? createReverse() : track;
         }
 
         @CheckResult
@@ -1,11 +1,14 @@
 package com.kaichunlin.transition;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.kaichunlin.transition.util.ListenerList;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Manages a collection of {@link Transition}
@@ -13,9 +16,15 @@ import java.util.Set;
  * Created by Kai on 2015/7/14.
  */
 public class DefaultTransitionManager implements TransitionManager {
-    private ArrayList<TransitionListener> mTransitionListenerList = new ArrayList<>();
+    private final ListenerList<TransitionListener> mTransitionListenerList = new ListenerList<>();
     private ArrayList<Transition> mTransitionList = new ArrayList<>();
-    private Set<Transition> mBackupTransitionList = new HashSet<>();
+    //the group of each entry of mTransitionList, at the same position
+    private ArrayList<MergeGroup> mGroupList = new ArrayList<>();
+    //every added Transition and the group it belongs to
+    private Map<Transition, MergeGroup> mGroups = new HashMap<>();
+    //groups of AbstractTransition, other transitions are never merged
+    private Map<AbstractTransition.MergeKey, MergeGroup> mMergeIndex = new HashMap<>();
+    private FrameBudget mFrameBudget;
 
     @Override
     public void addTransition(@NonNull AbstractTransitionBuilder transitionBuilder) {
@@ -36,60 +45,79 @@ public class DefaultTransitionManager implements TransitionManager {
     }
 
     private void processAnimation(Transition transition) {
+        if (mGroups.containsKey(transition)) {
+            return;
+        }
         //attempt to merge an animation
-        boolean merged = false;
+        MergeGroup group = null;
         //no optimization is taken if the TransitionOption is not an AbstractTransition subclass
+        AbstractTransition.MergeKey key = null;
         if (transition instanceof AbstractTransition) {
-            final int size = mTransitionList.size();
-            TransitionOperation to;
-            for (int i = 0; i < size; i++) {
-                to = mTransitionList.get(i);
-                if (to instanceof AbstractTransition) {
-                    AbstractTransition atTo=(AbstractTransition) to;
-                    AbstractTransition atTransition=(AbstractTransition) transition;
-                    if(atTo.compatible(atTransition)) {
-                        //the Transition has already merged another Transition previously
-                        if(atTo.hasMultipleSetup()) {
-                            atTo.merge(atTransition);
-                        } else { //the Transition has not merged another Transition
-                            mTransitionList.remove(atTo);
-                            atTo = atTo.clone();
-                            atTo.merge(atTransition);
-                            mTransitionList.add(atTo);
-                        }
-                        break;
-                    }
-                }
-            }
+            key = ((AbstractTransition) transition).getMergeKey();
+            group = mMergeIndex.get(key);
         }
-        if (!merged) {
+        if (group == null) {
+            group = new MergeGroup(key, mTransitionList.size());
+            group.members.add(transition);
+            group.transition = transition;
             mTransitionList.add(transition);
+            mGroupList.add(group);
+            if (key != null) {
+                mMergeIndex.put(key, group);
+            }
+        } else {
+            group.members.add(transition);
+            //the Transition has not merged another Transition, a clone is merged instead so the added Transition is not modified
+            if (group.transition == group.members.get(0)) {
+                group.transition = ((AbstractTransition) group.transition).clone();
+                mTransitionList.set(group.position, group.transition);
+            }
+            ((AbstractTransition) group.transition).merge((AbstractTransition) transition);
         }
-        mBackupTransitionList.add(transition);
+        mGroups.put(transition, group);
     }
 
     @Override
     public boolean removeTransition(@NonNull Transition transition) {
-        //rebuilding mTransitionList
-        if(mBackupTransitionList.remove(transition)) {
-            List<Transition> temp = new ArrayList<>();
-            temp.addAll(mBackupTransitionList);
-            mTransitionList.clear();
-            mBackupTransitionList.clear();
-
-            final int size=temp.size();
-            for (int i = 0; i < size; i++) {
-                processAnimation(temp.get(i));
+        MergeGroup group = mGroups.remove(transition);
+        if (group == null) {
+            return false;
+        }
+        group.members.remove(transition);
+        if (group.members.isEmpty()) {
+            mTransitionList.remove(group.position);
+            mGroupList.remove(group.position);
+            if (group.key != null) {
+                mMergeIndex.remove(group.key);
             }
-
-            return true;
+            final int size = mGroupList.size();
+            for (int i = group.position; i < size; i++) {
+                mGroupList.get(i).position = i;
+            }
+        } else {
+            //only the group of the removed Transition is merged again
+            AbstractTransition merged = (AbstractTransition) group.members.get(0);
+            final int size = group.members.size();
+            if (size > 1) {
+                List<AbstractTransition> others = new ArrayList<>(size - 1);
+                for (int i = 1; i < size; i++) {
+                    others.add((AbstractTransition) group.members.get(i));
+                }
+                merged = merged.clone();
+                merged.mergeAll(others);
+            }
+            group.transition = merged;
+            mTransitionList.set(group.position, merged);
         }
-        return false;
+        return true;
     }
 
     @Override
     public void removeAllTransitions() {
         mTransitionList.clear();
+        mGroupList.clear();
+        mGroups.clear();
+        mMergeIndex.clear();
     }
 
     @Override
@@ -97,6 +125,14 @@ public class DefaultTransitionManager implements TransitionManager {
         return mTransitionList;
     }
 
+    @Override
+    public void prewarm() {
+        final int size = mTransitionList.size();
+        for (int i = 0; i < size; i++) {
+            mTransitionList.get(i).prewarm();
+        }
+    }
+
     @Override
     public boolean startTransition() {
         //call listeners so they can perform their actions first, like modifying this adapter's transitions
@@ -130,34 +166,60 @@ public class DefaultTransitionManager implements TransitionManager {
      */
     @Override
     public void updateProgress(float value) {
+        if (mFrameBudget != null) {
+            mFrameBudget.updateProgress(mTransitionList, value);
+            return;
+        }
         final int size = mTransitionList.size();
         for (int i = 0; i < size; i++) {
             mTransitionList.get(i).updateProgress(value);
         }
     }
 
+    @Override
+    public void setProgress(float progress) {
+        //merged transitions share a single TransitionControllerManager per target, so each target is written in one pass
+        final int size = mTransitionList.size();
+        for (int i = 0; i < size; i++) {
+            mTransitionList.get(i).setProgress(progress);
+        }
+    }
+
     /**
      * Stops all transitions
      */
     @Override
     public void stopTransition() {
-        //call listeners so they can perform their actions first, like modifying this adapter's transitions
-        int size = mTransitionListenerList.size();
-        for (int i = 0; i < size; i++) {
-            mTransitionListenerList.get(i).onTransitionEnd(this);
+        if (mFrameBudget != null) {
+            mFrameBudget.flush(mTransitionList);
         }
+        //call listeners so they can perform their actions first, like modifying this adapter's transitions
+        notifyTransitionEnd();
 
-        size = mTransitionList.size();
+        final int size = mTransitionList.size();
         for (int i = 0; i < size; i++) {
             mTransitionList.get(i).stopTransition();
         }
     }
 
+    /**
+     * Limits the time spent by {@link #updateProgress(float)}, when exceeded the transitions with a lower priority are
+     * updated less often, see {@link AbstractTransition#setPriority(int)}
+     *
+     * @param frameBudget null to always update every transition, the default
+     */
+    public void setFrameBudget(@Nullable FrameBudget frameBudget) {
+        mFrameBudget = frameBudget;
+    }
+
+    @Nullable
+    public FrameBudget getFrameBudget() {
+        return mFrameBudget;
+    }
+
     @Override
     public void addTransitionListener(TransitionListener transitionListener) {
-        if(!mTransitionListenerList.contains(transitionListener)) {
-            mTransitionListenerList.add(transitionListener);
-        }
+        mTransitionListenerList.add(transitionListener);
     }
 
     @Override
@@ -167,17 +229,37 @@ public class DefaultTransitionManager implements TransitionManager {
 
     @Override
     public void notifyTransitionStart() {
-        final int size = mTransitionListenerList.size();
+        final Object[] listeners = mTransitionListenerList.getArray();
+        final int size = listeners.length;
         for (int i = 0; i < size; i++) {
-            mTransitionListenerList.get(i).onTransitionStart(this);
+            ((TransitionListener) listeners[i]).onTransitionStart(this);
         }
     }
 
     @Override
     public void notifyTransitionEnd() {
-        final int size = mTransitionListenerList.size();
+        final Object[] listeners = mTransitionListenerList.getArray();
+        final int size = listeners.length;
         for (int i = 0; i < size; i++) {
-            mTransitionListenerList.get(i).onTransitionEnd(this);
+            ((TransitionListener) listeners[i]).onTransitionEnd(this);
+        }
+    }
+
+    /**
+     * Transitions merged into one entry of the transition list
+     */
+    private static class MergeGroup {
+        final AbstractTransition.MergeKey key;
+        //the added transitions, in the order they were added
+        final List<Transition> members = new ArrayList<>();
+        //the entry in the transition list, either the only member or a clone of the first member merging all members
+        Transition transition;
+        //position of the entry in the transition list
+        int position;
+
+        MergeGroup(@Nullable AbstractTransition.MergeKey key, int position) {
+            this.key = key;
+            this.position = position;
         }
     }
 }
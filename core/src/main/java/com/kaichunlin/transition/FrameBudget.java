@@ -0,0 +1,218 @@
+package com.kaichunlin.transition;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Limits the time {@link DefaultTransitionManager#updateProgress(float)} spends per frame, see
+ * {@link DefaultTransitionManager#setFrameBudget(FrameBudget)}.
+ * <p>
+ * Each call to updateProgress is treated as a frame, so it works best along with an adapter coalescing its progress
+ * updates per frame. When the transitions take longer than the budget, {@link AbstractTransition#PRIORITY_LOW}
+ * transitions are updated once every {@link #getInterval()} frames first ({@link #LEVEL_LOW}), then
+ * {@link AbstractTransition#PRIORITY_NORMAL} transitions as well if the budget is still exceeded ({@link #LEVEL_NORMAL}).
+ * {@link AbstractTransition#PRIORITY_HIGH} transitions are updated every frame. Transitions that are not an
+ * AbstractTransition have no priority and are throttled as {@link AbstractTransition#PRIORITY_NORMAL}.
+ * <p>
+ * The degradation is raised after {@value #RAISE_FRAMES} consecutive frames over the budget, and lifted after
+ * {@value #LOWER_FRAMES} consecutive frames updating every transition in less than half of the budget; frames skipping
+ * the degraded transitions are cheaper by construction, so they are not used to lift the degradation.
+ */
+public class FrameBudget {
+    /**
+     * Half of a frame at 60 fps, leaving the rest for measure, layout and draw
+     */
+    public static final long DEFAULT_BUDGET_NANOS = 8_000_000;
+    /**
+     * Every transition is updated every frame
+     */
+    public static final int LEVEL_NONE = 0;
+    /**
+     * {@link AbstractTransition#PRIORITY_LOW} transitions are updated at reduced frequency
+     */
+    public static final int LEVEL_LOW = 1;
+    /**
+     * {@link AbstractTransition#PRIORITY_LOW} and {@link AbstractTransition#PRIORITY_NORMAL} transitions are updated at
+     * reduced frequency
+     */
+    public static final int LEVEL_NORMAL = 2;
+    private static final int RAISE_FRAMES = 3;
+    private static final int LOWER_FRAMES = 30;
+
+    private long mBudgetNanos;
+    private int mInterval;
+    private int mLevel = LEVEL_NONE;
+    //frames since the degraded transitions were last updated
+    private int mFramesSinceUpdate;
+    private boolean mHasSkipped;
+    private float mLastProgress;
+    //consecutive frames over the budget, and consecutive frames updating every transition under half of the budget
+    private int mOverBudgetStreak;
+    private int mUnderBudgetStreak;
+
+    private long mFrameCount;
+    private long mOverBudgetFrameCount;
+    private long mSkippedUpdateCount;
+    private long mTotalNanos;
+
+    public FrameBudget() {
+        this(DEFAULT_BUDGET_NANOS, 3);
+    }
+
+    /**
+     * @param budgetNanos maximum time to spend updating the transitions per frame
+     * @param interval    degraded transitions are updated once every interval frames
+     */
+    public FrameBudget(@IntRange(from = 1) long budgetNanos, @IntRange(from = 2) int interval) {
+        mBudgetNanos = budgetNanos;
+        mInterval = interval;
+    }
+
+    public long getBudgetNanos() {
+        return mBudgetNanos;
+    }
+
+    public void setBudgetNanos(@IntRange(from = 1) long budgetNanos) {
+        mBudgetNanos = budgetNanos;
+    }
+
+    public int getInterval() {
+        return mInterval;
+    }
+
+    public void setInterval(@IntRange(from = 2) int interval) {
+        mInterval = interval;
+    }
+
+    /**
+     * Updates the transitions, skipping the degraded ones if required
+     *
+     * @param transitionList
+     * @param progress
+     */
+    void updateProgress(@NonNull List<Transition> transitionList, float progress) {
+        final long start = System.nanoTime();
+        final int level = mLevel;
+        final boolean updateDegraded = level == LEVEL_NONE || ++mFramesSinceUpdate >= mInterval;
+        if (updateDegraded) {
+            mFramesSinceUpdate = 0;
+            mHasSkipped = false;
+        }
+        Transition transition;
+        final int size = transitionList.size();
+        for (int i = 0; i < size; i++) {
+            transition = transitionList.get(i);
+            if (updateDegraded || !isDegraded(transition, level)) {
+                transition.updateProgress(progress);
+            } else {
+                mSkippedUpdateCount++;
+                mHasSkipped = true;
+            }
+        }
+        mLastProgress = progress;
+
+        final long elapsed = System.nanoTime() - start;
+        mFrameCount++;
+        mTotalNanos += elapsed;
+        if (elapsed > mBudgetNanos) {
+            mOverBudgetFrameCount++;
+            mUnderBudgetStreak = 0;
+            if (++mOverBudgetStreak >= RAISE_FRAMES && mLevel < LEVEL_NORMAL) {
+                setLevel(mLevel + 1);
+            }
+        } else if (updateDegraded) {
+            //a frame skipping the degraded transitions tells nothing about the cost of updating them
+            mOverBudgetStreak = 0;
+            if (elapsed >= mBudgetNanos / 2) {
+                mUnderBudgetStreak = 0;
+            } else if (++mUnderBudgetStreak >= LOWER_FRAMES && mLevel > LEVEL_NONE) {
+                setLevel(mLevel - 1);
+            }
+        }
+    }
+
+    private void setLevel(int level) {
+        mLevel = level;
+        mOverBudgetStreak = 0;
+        mUnderBudgetStreak = 0;
+    }
+
+    /**
+     * Brings the skipped transitions to the last progress, called before the transitions are stopped
+     *
+     * @param transitionList
+     */
+    void flush(@NonNull List<Transition> transitionList) {
+        if (!mHasSkipped) {
+            return;
+        }
+        mHasSkipped = false;
+        mFramesSinceUpdate = 0;
+        Transition transition;
+        final int size = transitionList.size();
+        for (int i = 0; i < size; i++) {
+            transition = transitionList.get(i);
+            if (isDegraded(transition, LEVEL_NORMAL)) {
+                transition.updateProgress(mLastProgress);
+            }
+        }
+    }
+
+    private static boolean isDegraded(Transition transition, int level) {
+        final int priority = transition instanceof AbstractTransition ? ((AbstractTransition) transition).getPriority() : AbstractTransition.PRIORITY_NORMAL;
+        return priority < AbstractTransition.PRIORITY_NORMAL ? level >= LEVEL_LOW : priority < AbstractTransition.PRIORITY_HIGH && level >= LEVEL_NORMAL;
+    }
+
+    /**
+     * @return current degradation level, one of {@link #LEVEL_NONE}, {@link #LEVEL_LOW} or {@link #LEVEL_NORMAL}
+     */
+    public int getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * @return number of frames measured
+     */
+    public long getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return number of frames that took longer than the budget
+     */
+    public long getOverBudgetFrameCount() {
+        return mOverBudgetFrameCount;
+    }
+
+    /**
+     * @return number of transition updates skipped due to degradation
+     */
+    public long getSkippedUpdateCount() {
+        return mSkippedUpdateCount;
+    }
+
+    /**
+     * @return average time spent per frame
+     */
+    public long getAverageFrameNanos() {
+        return mFrameCount == 0 ? 0 : mTotalNanos / mFrameCount;
+    }
+
+    /**
+     * Resets the statistics, the degradation level is kept
+     */
+    public void resetStatistics() {
+        mFrameCount = 0;
+        mOverBudgetFrameCount = 0;
+        mSkippedUpdateCount = 0;
+        mTotalNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameBudget{level=" + mLevel + ", frames=" + mFrameCount + ", overBudget=" + mOverBudgetFrameCount
+                + ", skipped=" + mSkippedUpdateCount + ", averageNanos=" + getAverageFrameNanos() + "}";
+    }
+}
@@ -78,6 +78,14 @@ public class MenuItemTransition extends AbstractTransition<MenuItemTransition, M
         return self();
     }
 
+    /**
+     * The transiting views are only created from the visible MenuItems when the transition starts, nothing can be
+     * prepared in advance
+     */
+    @Override
+    public void prewarm() {
+    }
+
     @Override
     public boolean startTransition() {
         if (mStarted) {
@@ -105,6 +113,7 @@ public class MenuItemTransition extends AbstractTransition<MenuItemTransition, M
                 if (mInterpolator != null) {
                     transitionControllerManager.setInterpolator(mInterpolator);
                 }
+                transitionControllerManager.setHardwareLayerEnabled(mHardwareLayerEnabled);
                 for (j = 0; j < mSetupList.size(); j++) {
                     mSetupList.get(j).setupAnimation(menuItem, transitionControllerManager, i, menuItemList.size());
                 }
@@ -211,14 +220,16 @@ public class MenuItemTransition extends AbstractTransition<MenuItemTransition, M
     }
 
     @Override
-    public boolean merge(AbstractTransition another) {
-        if (super.merge(another)) {
-            MenuItemTransition mit = (MenuItemTransition) another;
-            mSetVisibleOnStartTransition |= mit.mSetVisibleOnStartTransition;
-            mInvalidateOptionOnStopTransition |= mit.mInvalidateOptionOnStopTransition;
-            return true;
-        }
-        return false;
+    MergeKey getMergeKey() {
+        return new MergeKey(this, mMenuId);
+    }
+
+    @Override
+    void mergeState(AbstractTransition another) {
+        super.mergeState(another);
+        MenuItemTransition mit = (MenuItemTransition) another;
+        mSetVisibleOnStartTransition |= mit.mSetVisibleOnStartTransition;
+        mInvalidateOptionOnStopTransition |= mit.mInvalidateOptionOnStopTransition;
     }
 
     @Override
@@ -11,9 +11,6 @@ import android.view.MenuItem;
 import android.view.animation.Interpolator;
 
 import com.kaichunlin.transition.internal.TransitionControllerManager;
-import com.nineoldandroids.animation.AnimatorSet;
-import com.nineoldandroids.animation.ObjectAnimator;
-import com.nineoldandroids.animation.PropertyValuesHolder;
 
 /**
  * Allows the easy creation of {@link MenuItemTransition}
@@ -199,12 +196,6 @@ public class MenuItemTransitionBuilder extends AbstractTransitionBuilder<MenuIte
             mDelayed.get(i).evaluate(transitionControllerManager.getTarget(), this);
         }
 
-        ObjectAnimator anim = new ObjectAnimator();
-        anim.setValues(mHolders.values().toArray(new PropertyValuesHolder[0]));
-        AnimatorSet set = new AnimatorSet();
-        set.play(anim);
-        set.setStartDelay((long) (itemIndex * mCascade * SCALE_FACTOR));
-        set.setDuration((long) (SCALE_FACTOR - itemIndex * mCascade * SCALE_FACTOR));
-        transitionControllerManager.addAnimatorSetAsTransition(set).setRange(mStart, mEnd);
+        addPropertyTransitionControllers(transitionControllerManager, null, itemIndex * mCascade);
     }
 }
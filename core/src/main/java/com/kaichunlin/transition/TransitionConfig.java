@@ -1,5 +1,13 @@
 package com.kaichunlin.transition;
 
+import android.view.animation.Interpolator;
+
+import com.kaichunlin.transition.internal.NineOldAndroidsPropertyBackend;
+import com.kaichunlin.transition.internal.PlatformPropertyBackend;
+import com.kaichunlin.transition.internal.PropertyBackend;
+import com.kaichunlin.transition.internal.ViewProperties;
+import com.kaichunlin.transition.util.BakedInterpolator;
+
 /**
  * Configuration that affects the whole framework
  * <p>
@@ -8,6 +16,7 @@ package com.kaichunlin.transition;
 public class TransitionConfig {
     static boolean _debug;
     static boolean _printDebug;
+    static boolean _bakeInterpolators;
 
     /**
      * @param debug set debugging
@@ -36,4 +45,36 @@ public class TransitionConfig {
     public static boolean isPrintDebug() {
         return _printDebug;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param bakeInterpolators set if Interpolators passed to {@link AbstractTransitionBuilder#interpolator(Interpolator)}
+     *                          are replaced by a shared {@link BakedInterpolator}, an approximation sampled at
+     *                          {@link BakedInterpolator#INTERVAL_COUNT} intervals, disabled by default
+     */
+    public static void setBakeInterpolators(boolean bakeInterpolators) {
+        _bakeInterpolators = bakeInterpolators;
+    }
+
+    /**
+     * @return are Interpolators baked into lookup tables
+     */
+    public static boolean isBakeInterpolators() {
+        return _bakeInterpolators;
+    }
+
+    /**
+     * @param propertyBackend how View properties are written, defaults to {@link PlatformPropertyBackend}, use
+     *                        {@link NineOldAndroidsPropertyBackend} if the transited Views are also modified through
+     *                        NineOldAndroids' ViewHelper
+     */
+    public static void setPropertyBackend(PropertyBackend propertyBackend) {
+        ViewProperties.setBackend(propertyBackend);
+    }
+
+    /**
+     * @return the current PropertyBackend
+     */
+    public static PropertyBackend getPropertyBackend() {
+        return ViewProperties.getBackend();
+    }
+}
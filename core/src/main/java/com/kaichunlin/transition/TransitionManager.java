@@ -1,5 +1,7 @@
 package com.kaichunlin.transition;
 
+import android.support.annotation.UiThread;
+
 import java.util.List;
 
 /**
@@ -40,6 +42,15 @@ public interface TransitionManager extends TransitionOperation {
      */
     void removeAllTransitions();
 
+    /**
+     * Sets the progress of every transition without starting them, e.g. to restore a saved state, see
+     * {@link Transition#setProgress(float)}; {@link TransitionListener}s are not notified
+     *
+     * @param progress
+     */
+    @UiThread
+    void setProgress(float progress);
+
     void addTransitionListener(TransitionListener transitionListener);
 
     void removeTransitionListener(TransitionListener transitionListener);
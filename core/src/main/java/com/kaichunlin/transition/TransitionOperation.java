@@ -8,6 +8,14 @@ import com.kaichunlin.transition.adapter.TransitionAdapter;
  * Created by Kai on 2015/7/12.
  */
 public interface TransitionOperation {
+    /**
+     * Performs the work of the first {@link #startTransition()} ahead of time, e.g. creating the
+     * {@link com.kaichunlin.transition.internal.TransitionController}'s, so the transition does not have to do it when
+     * the user starts interacting. Does not modify the state of the target views.
+     */
+    @UiThread
+    void prewarm();
+
     /**
      * Starts the transition
      *
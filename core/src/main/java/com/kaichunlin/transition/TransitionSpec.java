@@ -0,0 +1,224 @@
+package com.kaichunlin.transition;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.Interpolator;
+
+import com.kaichunlin.transition.internal.KeyframeTrack;
+import com.kaichunlin.transition.internal.PropertyTransitionController;
+import com.kaichunlin.transition.internal.TransitionController;
+import com.kaichunlin.transition.internal.TransitionControllerManager;
+import com.kaichunlin.transition.internal.ViewGroupTransitionController;
+import com.kaichunlin.transition.internal.ViewProperties;
+import com.nineoldandroids.animation.AnimatorSet;
+import com.nineoldandroids.animation.ObjectAnimator;
+import com.nineoldandroids.animation.PropertyValuesHolder;
+import com.nineoldandroids.util.Property;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compiled form of the tracks, range and interpolator of a builder, it is never modified after creation so a
+ * single instance can be shared by any number of {@link ViewTransition}. Each target only gets its own
+ * {@link PropertyTransitionController}, which evaluates its own {@link KeyframeTrack#copy()} of the tracks held by this
+ * object, so the interval cached by a track is never shared between targets.
+ */
+public final class TransitionSpec implements ViewTransition.Setup {
+    private final String mId;
+    private final float mStart;
+    private final float mEnd;
+    private final boolean mReverse;
+    private final Interpolator mInterpolator;
+    private final boolean mHardwareLayer;
+    private final int mPriority;
+    //properties handled by PropertyTransitionController
+    private final int[] mProperties;
+    private final KeyframeTrack[] mTracks;
+    //properties that can only be set through an ObjectAnimator, by their typed property if available or else by name
+    private final String[] mFallbackNames;
+    private final Property[] mFallbackProperties;
+    private final KeyframeTrack[] mFallbackTracks;
+
+    TransitionSpec(@NonNull AbstractTransitionBuilder builder) {
+        mId = builder.mId;
+        mStart = builder.mStart;
+        mEnd = builder.mEnd;
+        mReverse = builder.mReverse;
+        mInterpolator = builder.mInterpolator;
+        mHardwareLayer = builder.mHardwareLayer;
+        mPriority = builder.mPriority;
+
+        final AbstractTransitionBuilder.ShadowValuesHolder[] holders = builder.mShadowHolders;
+        final int size = holders.length;
+        int[] properties = new int[size];
+        KeyframeTrack[] tracks = new KeyframeTrack[size];
+        String[] fallbackNames = new String[size];
+        Property[] fallbackProperties = new Property[size];
+        KeyframeTrack[] fallbackTracks = new KeyframeTrack[size];
+        int count = 0;
+        int fallbackCount = 0;
+        AbstractTransitionBuilder.ShadowValuesHolder holder;
+        KeyframeTrack track;
+        Property typedProperty;
+        for (int i = 0; i < size; i++) {
+            holder = holders[i];
+            if (holder == null) {
+                continue;
+            }
+            track = holder.getTrack();
+            //the index of a built-in ViewProperty is its ViewProperties value, unless another property uses its name
+            if (holder.index < ViewProperties.COUNT && (holder.property == null || holder.property == ViewProperty.getProperty(holder.index))
+                    && track.isFloat() && track.size() > 1) {
+                properties[count] = holder.index;
+                tracks[count] = track;
+                count++;
+            } else {
+                typedProperty = holder.property != null ? holder.property : ViewProperty.getProperty(holder.index);
+                fallbackNames[fallbackCount] = ViewProperty.getName(holder.index);
+                //the property may have been registered with another type than the one transited by name
+                if (typedProperty != null && typedProperty.getType() == (track.isFloat() ? Float.class : Integer.class)) {
+                    fallbackProperties[fallbackCount] = typedProperty;
+                }
+                fallbackTracks[fallbackCount] = track;
+                fallbackCount++;
+            }
+        }
+        mProperties = Arrays.copyOf(properties, count);
+        mTracks = Arrays.copyOf(tracks, count);
+        mFallbackNames = Arrays.copyOf(fallbackNames, fallbackCount);
+        mFallbackProperties = Arrays.copyOf(fallbackProperties, fallbackCount);
+        mFallbackTracks = Arrays.copyOf(fallbackTracks, fallbackCount);
+    }
+
+    /**
+     * Creates a {@link ViewTransition} bound to this object
+     *
+     * @param target the view the created {@link ViewTransition} should manipulate
+     * @return
+     */
+    @CheckResult(suggest = "The created ViewTransition should be utilized")
+    public ViewTransition createTransition(@Nullable View target) {
+        ViewTransition vt = new ViewTransition(mId, this);
+        vt.setTarget(target);
+        vt.setHardwareLayerEnabled(mHardwareLayer);
+        vt.setPriority(mPriority);
+        if (mInterpolator != null) {
+            vt.setInterpolator(mInterpolator);
+        }
+        if (mReverse) {
+            vt.reverse();
+        }
+        return vt;
+    }
+
+    /**
+     * @return the start of the transition range
+     */
+    public float getStart() {
+        return mStart;
+    }
+
+    /**
+     * @return the end of the transition range
+     */
+    public float getEnd() {
+        return mEnd;
+    }
+
+    /**
+     * @return the value used to order merged setups, see {@link AbstractTransition#merge(AbstractTransition)}
+     */
+    float getSortStart() {
+        return mReverse ? mEnd : mStart;
+    }
+
+    @Override
+    public void setupAnimation(@NonNull TransitionControllerManager transitionControllerManager) {
+        addTransitionControllers(transitionControllerManager, transitionControllerManager.getTarget(), 0);
+    }
+
+    /**
+     * @param transitionControllerManager
+     * @param target
+     * @param startOffset                 fraction of the range to wait before the properties start to change
+     */
+    void addTransitionControllers(@NonNull TransitionControllerManager transitionControllerManager, @Nullable View target, float startOffset) {
+        if (mProperties.length > 0) {
+            PropertyTransitionController controller = new PropertyTransitionController(target, mProperties, mTracks);
+            controller.setStartOffset(startOffset).setRange(mStart, mEnd);
+            transitionControllerManager.addTransitionController(controller);
+        }
+
+        if (mFallbackNames.length > 0) {
+            addFallbackTransitionController(transitionControllerManager, target, startOffset).setRange(mStart, mEnd);
+        }
+    }
+
+    /**
+     * Transits all children of viewGroup, each child within the range calculated by cascade, see
+     * {@link ViewTransitionBuilder#transitChildren(ViewTransitionBuilder.Cascade)}
+     *
+     * @param transitionControllerManager
+     * @param viewGroup
+     * @param cascade
+     */
+    void addChildTransitionControllers(@NonNull TransitionControllerManager transitionControllerManager, @NonNull ViewGroup viewGroup,
+                                       @NonNull ViewTransitionBuilder.Cascade cascade) {
+        final int size = viewGroup.getChildCount();
+        if (size == 0) {
+            return;
+        }
+        final View[] children = new View[size];
+        final float[] childStarts = new float[size];
+        final float[] childEnds = new float[size];
+        for (int i = 0; i < size; i++) {
+            children[i] = viewGroup.getChildAt(i);
+            childStarts[i] = cascade.getChildStart(i, size);
+            childEnds[i] = cascade.transitionEnd;
+        }
+
+        if (mProperties.length > 0) {
+            transitionControllerManager.addTransitionController(new ViewGroupTransitionController(viewGroup, children, childStarts, childEnds, mProperties, mTracks));
+        }
+        if (mFallbackNames.length > 0) {
+            for (int i = 0; i < size; i++) {
+                addFallbackTransitionController(transitionControllerManager, children[i], 0).setRange(childStarts[i], childEnds[i]);
+            }
+        }
+    }
+
+    private TransitionController addFallbackTransitionController(@NonNull TransitionControllerManager transitionControllerManager, @Nullable View target, float startOffset) {
+        final int size = mFallbackNames.length;
+        //PropertyValuesHolder caches the setter of its target, so it cannot be shared
+        PropertyValuesHolder[] holders = new PropertyValuesHolder[size];
+        for (int i = 0; i < size; i++) {
+            holders[i] = createPropertyValuesHolder(i);
+        }
+        ObjectAnimator anim = new ObjectAnimator();
+        if (target != null) {
+            anim.setTarget(target);
+        }
+        anim.setValues(holders);
+        AnimatorSet animatorSet = new AnimatorSet();
+        animatorSet.play(anim);
+        animatorSet.setStartDelay((long) (startOffset * AbstractTransitionBuilder.SCALE_FACTOR));
+        animatorSet.setDuration((long) (AbstractTransitionBuilder.SCALE_FACTOR - startOffset * AbstractTransitionBuilder.SCALE_FACTOR));
+        return transitionControllerManager.addAnimatorSetAsTransition(target, animatorSet);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PropertyValuesHolder createPropertyValuesHolder(int fallbackIndex) {
+        final KeyframeTrack track = mFallbackTracks[fallbackIndex];
+        final Property property = mFallbackProperties[fallbackIndex];
+        if (track.isFloat()) {
+            return property == null ? PropertyValuesHolder.ofFloat(mFallbackNames[fallbackIndex], track.toFloatArray())
+                    : PropertyValuesHolder.ofFloat((Property<?, Float>) property, track.toFloatArray());
+        } else {
+            return property == null ? PropertyValuesHolder.ofInt(mFallbackNames[fallbackIndex], track.toIntArray())
+                    : PropertyValuesHolder.ofInt((Property<?, Integer>) property, track.toIntArray());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.kaichunlin.transition;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import com.kaichunlin.transition.internal.ViewProperties;
+import com.nineoldandroids.util.FloatProperty;
+import com.nineoldandroids.util.Property;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed View properties accepted by {@link AbstractTransitionBuilder#transitFloat(Property, float...)} and
+ * {@link AbstractTransitionBuilder#transitInt(Property, int...)}, and the registry assigning each property the small
+ * int index used by the builders to store its track.
+ * <p>
+ * The ten built-in properties are set through {@link ViewProperties} without any setter lookup, custom properties can
+ * be registered with {@link #register(Property)}. The registry is keyed by property name, so a property transited by a
+ * new instance every time, or by its name only, still takes a single index. Properties generated from
+ * {@link com.kaichunlin.transition.annotation.TransitProperty} are registered by calling
+ * {@code GeneratedViewProperties.register()} once, e.g. from {@code Application.onCreate()}.
+ */
+public final class ViewProperty {
+    public static final Property<View, Float> ALPHA = new BuiltInProperty(AbstractTransitionBuilder.ALPHA, ViewProperties.ALPHA);
+    public static final Property<View, Float> ROTATION = new BuiltInProperty(AbstractTransitionBuilder.ROTATION, ViewProperties.ROTATION);
+    public static final Property<View, Float> ROTATION_X = new BuiltInProperty(AbstractTransitionBuilder.ROTATION_X, ViewProperties.ROTATION_X);
+    public static final Property<View, Float> ROTATION_Y = new BuiltInProperty(AbstractTransitionBuilder.ROTATION_Y, ViewProperties.ROTATION_Y);
+    public static final Property<View, Float> SCALE_X = new BuiltInProperty(AbstractTransitionBuilder.SCALE_X, ViewProperties.SCALE_X);
+    public static final Property<View, Float> SCALE_Y = new BuiltInProperty(AbstractTransitionBuilder.SCALE_Y, ViewProperties.SCALE_Y);
+    public static final Property<View, Float> TRANSLATION_X = new BuiltInProperty(AbstractTransitionBuilder.TRANSLATION_X, ViewProperties.TRANSLATION_X);
+    public static final Property<View, Float> TRANSLATION_Y = new BuiltInProperty(AbstractTransitionBuilder.TRANSLATION_Y, ViewProperties.TRANSLATION_Y);
+    public static final Property<View, Float> X = new BuiltInProperty(AbstractTransitionBuilder.X, ViewProperties.X);
+    public static final Property<View, Float> Y = new BuiltInProperty(AbstractTransitionBuilder.Y, ViewProperties.Y);
+
+    //index -> name and typed property, the property is null for properties only known by name
+    private static final List<String> sNames = new ArrayList<>();
+    private static final List<Property<View, ?>> sProperties = new ArrayList<>();
+    private static final Map<String, Integer> sNameIndexes = new HashMap<>();
+
+    static {
+        //registered in the order of the ViewProperties constants, so the index of a built-in property is its ViewProperties value
+        register(ALPHA);
+        register(ROTATION);
+        register(ROTATION_X);
+        register(ROTATION_Y);
+        register(SCALE_X);
+        register(SCALE_Y);
+        register(TRANSLATION_X);
+        register(TRANSLATION_Y);
+        register(X);
+        register(Y);
+    }
+
+    private ViewProperty() {
+    }
+
+    /**
+     * Registers a custom property under its name, a string property name matching the name of a registered property
+     * is then also set through the registered property; only the first property registered under a name is kept
+     *
+     * @param property
+     * @return the index of the property
+     */
+    public static synchronized int register(@NonNull Property<View, ?> property) {
+        final int index = indexOf(property.getName());
+        if (sProperties.get(index) == null) {
+            sProperties.set(index, property);
+        }
+        return index;
+    }
+
+    /**
+     * @param name property name as used by ObjectAnimator, e.g. "alpha"
+     * @return the index of the property, a new index is assigned to names not seen before
+     */
+    static synchronized int indexOf(@NonNull String name) {
+        Integer index = sNameIndexes.get(name);
+        if (index != null) {
+            return index;
+        }
+        index = sNames.size();
+        sNames.add(name);
+        sProperties.add(null);
+        sNameIndexes.put(name, index);
+        return index;
+    }
+
+    /**
+     * @param index
+     * @return the name of the property with the given index
+     */
+    static synchronized String getName(int index) {
+        return sNames.get(index);
+    }
+
+    /**
+     * @param index
+     * @return the typed property with the given index, or null if the property is only known by name
+     */
+    @Nullable
+    static synchronized Property<View, ?> getProperty(int index) {
+        return sProperties.get(index);
+    }
+
+    /**
+     * Sets the property through {@link ViewProperties}, i.e. the current {@link com.kaichunlin.transition.internal.PropertyBackend}
+     */
+    private static class BuiltInProperty extends FloatProperty<View> {
+        private final int mProperty;
+
+        BuiltInProperty(String name, int property) {
+            super(name);
+            mProperty = property;
+        }
+
+        @Override
+        public void setValue(View view, float value) {
+            ViewProperties.set(view, mProperty, value);
+        }
+
+        @Override
+        public Float get(View view) {
+            return ViewProperties.get(view, mProperty);
+        }
+    }
+}
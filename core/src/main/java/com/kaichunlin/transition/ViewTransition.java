@@ -3,6 +3,7 @@ package com.kaichunlin.transition;
 import android.support.annotation.CheckResult;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
+import android.view.View;
 
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.internal.TransitionControllerManager;
@@ -16,6 +17,10 @@ import com.kaichunlin.transition.util.TransitionStateLogger;
 @UiThread
 public class ViewTransition extends AbstractTransition<ViewTransition, ViewTransition.Setup> {
     private TransitionControllerManager transitionControllerManager;
+    //whether the created TransitionController depend on the size of the target, and the size when they were created
+    private boolean mSizeDependent;
+    private int mSetupWidth;
+    private int mSetupHeight;
 
     public ViewTransition() {
         this(null, null);
@@ -43,8 +48,50 @@ public class ViewTransition extends AbstractTransition<ViewTransition, ViewTrans
         return self();
     }
 
+    /**
+     * Keeps the cached {@link TransitionControllerManager} and points its controllers to the new target when possible,
+     * see {@link TransitionControllerManager#isRetargetable()}, e.g. when a recycled page of a ViewPager is bound to
+     * the transition
+     *
+     * @param target
+     */
+    @Override
+    public void setTarget(@Nullable View target) {
+        if (transitionControllerManager == null || !transitionControllerManager.isRetargetable()) {
+            super.setTarget(target);
+            return;
+        }
+        stopTransition();
+        mTarget = target;
+        transitionControllerManager.setTarget(target);
+        if (target != null && TransitionConfig.isDebug()) {
+            target.setTag(R.id.debug_id, new TransitionStateLogger(getId()));
+        }
+    }
+
+    @Override
+    public void prewarm() {
+        if (mTarget == null) {
+            return;
+        }
+        getTransitionControllerManager();
+    }
+
     @Override
     public boolean startTransition() {
+        getTransitionControllerManager().start();
+        return true;
+    }
+
+    /**
+     * @return the cached {@link TransitionControllerManager}, created if needed
+     */
+    private TransitionControllerManager getTransitionControllerManager() {
+        //a DelayedEvaluator usually computes its values from the size of the target, so the result is only stale once the size changes
+        if (transitionControllerManager != null && mSizeDependent && mTarget != null
+                && (mTarget.getWidth() != mSetupWidth || mTarget.getHeight() != mSetupHeight)) {
+            invalidate();
+        }
         //caches result
         if (transitionControllerManager == null) {
             transitionControllerManager = new TransitionControllerManager(getId());
@@ -56,17 +103,61 @@ public class ViewTransition extends AbstractTransition<ViewTransition, ViewTrans
             }
             transitionControllerManager.setTarget(mTarget);
             transitionControllerManager.setUpdateStateAfterUpdateProgress(mUpdateStateAfterUpdateProgress);
+            transitionControllerManager.setHardwareLayerEnabled(mHardwareLayerEnabled);
 
+            mSizeDependent = false;
+            Setup setup;
             final int size = mSetupList.size();
             for (int i = 0; i < size; i++) {
-                mSetupList.get(i).setupAnimation(transitionControllerManager);
+                setup = mSetupList.get(i);
+                setup.setupAnimation(transitionControllerManager);
+                if (setup instanceof AbstractTransitionBuilder && !((AbstractTransitionBuilder) setup).mDelayed.isEmpty()) {
+                    mSizeDependent = true;
+                }
+            }
+            if (mSizeDependent && mTarget != null) {
+                mSetupWidth = mTarget.getWidth();
+                mSetupHeight = mTarget.getHeight();
+            } else {
+                mSizeDependent = false;
             }
             if (mReverse) {
                 transitionControllerManager.reverse();
             }
         }
-        transitionControllerManager.start();
-        return true;
+        return transitionControllerManager;
+    }
+
+    /**
+     * Applies the progress in a single evaluation of the cached {@link TransitionControllerManager}, see
+     * {@link TransitionControllerManager#seek(float)}
+     *
+     * @param progress
+     */
+    @Override
+    public void setProgress(float progress) {
+        getTransitionControllerManager().seek(progress);
+    }
+
+    /**
+     * @return the lowest progress at which the transition may modify its target, {@link Float#NEGATIVE_INFINITY} if
+     * unknown because the transition has not been started or prewarmed
+     */
+    public float getMinProgress() {
+        return transitionControllerManager == null ? Float.NEGATIVE_INFINITY : transitionControllerManager.getMinProgress();
+    }
+
+    /**
+     * @return the highest progress at which the transition may modify its target, {@link Float#POSITIVE_INFINITY} if
+     * unknown because the transition has not been started or prewarmed
+     */
+    public float getMaxProgress() {
+        return transitionControllerManager == null ? Float.POSITIVE_INFINITY : transitionControllerManager.getMaxProgress();
+    }
+
+    @Override
+    public boolean restoreStartState() {
+        return transitionControllerManager != null && transitionControllerManager.restoreSnapshot();
     }
 
     @Override
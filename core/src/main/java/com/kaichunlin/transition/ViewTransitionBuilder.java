@@ -19,13 +19,13 @@ import com.kaichunlin.transition.internal.CustomTransitionController;
 import com.kaichunlin.transition.internal.DefaultTransitionController;
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.internal.TransitionControllerManager;
+import com.kaichunlin.transition.internal.ViewGroupTransitionController;
+import com.kaichunlin.transition.internal.ViewProperties;
 import com.nineoldandroids.animation.Animator;
 import com.nineoldandroids.animation.AnimatorInflater;
 import com.nineoldandroids.animation.AnimatorSet;
 import com.nineoldandroids.animation.ArgbEvaluator;
 import com.nineoldandroids.animation.ObjectAnimator;
-import com.nineoldandroids.animation.PropertyValuesHolder;
-import com.nineoldandroids.view.ViewHelper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -58,6 +58,8 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
     private CustomTransitionController mCustomTransitionController;
     private List<ViewTransition.Setup> mSetupList = new ArrayList<>();
+    //set by transitChildren(), the property transitions are then applied to the children of mView
+    private Cascade mChildCascade;
     private View mView;
 
     private ViewTransitionBuilder() {
@@ -92,42 +94,42 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
     @Override
     public ViewTransitionBuilder alpha(@FloatRange(from = 0.0, to = 1.0) float end) {
-        return alpha(ViewHelper.getAlpha(mView), end);
+        return alpha(ViewProperties.get(mView, ViewProperties.ALPHA), end);
     }
 
     @Override
     public ViewTransitionBuilder rotation(float end) {
-        return rotation(ViewHelper.getRotation(mView), end);
+        return rotation(ViewProperties.get(mView, ViewProperties.ROTATION), end);
     }
 
     @Override
     public ViewTransitionBuilder rotationX(float end) {
-        return rotationX(ViewHelper.getRotationX(mView), end);
+        return rotationX(ViewProperties.get(mView, ViewProperties.ROTATION_X), end);
     }
 
     @Override
     public ViewTransitionBuilder rotationY(float end) {
-        return rotationY(ViewHelper.getRotationY(mView), end);
+        return rotationY(ViewProperties.get(mView, ViewProperties.ROTATION_Y), end);
     }
 
     @Override
     public ViewTransitionBuilder scaleX(@FloatRange(from = 0.0) float end) {
-        return scaleX(ViewHelper.getScaleX(mView), end);
+        return scaleX(ViewProperties.get(mView, ViewProperties.SCALE_X), end);
     }
 
     @Override
     public ViewTransitionBuilder scaleY(@FloatRange(from = 0.0) float end) {
-        return scaleY(ViewHelper.getScaleY(mView), end);
+        return scaleY(ViewProperties.get(mView, ViewProperties.SCALE_Y), end);
     }
 
     @Override
     public ViewTransitionBuilder scale(@FloatRange(from = 0.0) float end) {
-        return scaleX(ViewHelper.getScaleX(mView), end).scaleY(ViewHelper.getScaleY(mView), end);
+        return scaleX(ViewProperties.get(mView, ViewProperties.SCALE_X), end).scaleY(ViewProperties.get(mView, ViewProperties.SCALE_Y), end);
     }
 
     @Override
     public ViewTransitionBuilder translationX(float end) {
-        return translationX(ViewHelper.getTranslationX(mView), end);
+        return translationX(ViewProperties.get(mView, ViewProperties.TRANSLATION_X), end);
     }
 
     /**
@@ -179,7 +181,7 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
     @Override
     public ViewTransitionBuilder translationY(float end) {
-        return translationY(ViewHelper.getTranslationY(mView), end);
+        return translationY(ViewProperties.get(mView, ViewProperties.TRANSLATION_Y), end);
     }
 
     /**
@@ -231,12 +233,12 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
     @Override
     public ViewTransitionBuilder x(float end) {
-        return x(ViewHelper.getX(mView), end);
+        return x(ViewProperties.get(mView, ViewProperties.X), end);
     }
 
     @Override
     public ViewTransitionBuilder y(float end) {
-        return y(ViewHelper.getY(mView), end);
+        return y(ViewProperties.get(mView, ViewProperties.Y), end);
     }
 
     public ViewTransitionBuilder height(@IntRange(from = 0) final int targetHeight) {
@@ -270,10 +272,11 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
     @Override
     public ViewTransitionBuilder reverse() {
-        mHolders.clear();
-        final int size = mShadowHolders.size();
+        final int size = mShadowHolders.length;
         for (int i = 0; i < size; i++) {
-            mHolders.put(mShadowHolders.keyAt(i), mShadowHolders.valueAt(i).createReverse());
+            if (mShadowHolders[i] != null) {
+                mShadowHolders[i].reversed = true;
+            }
         }
         float oldStart = mStart;
         mStart = mEnd;
@@ -408,18 +411,30 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
         transitViewGroup(new ViewGroupTransition() {
             @Override
             public void transit(ViewTransitionBuilder builder, ViewGroupTransitionConfig config) {
-                float fraction = (float) config.index / (config.total + 1);
-                if (cascade.reverse) {
-                    fraction = 1 - fraction;
-                }
-                float offset = cascade.interpolator.getInterpolation(fraction) * (cascade.cascadeEnd - cascade.cascadeStart);
-                builder.range(cascade.cascadeStart + offset, cascade.transitionEnd);
+                builder.range(cascade.getChildStart(config.index, config.total), cascade.transitionEnd);
                 viewGroupTransition.transit(builder, config);
             }
         });
         return self();
     }
 
+    /**
+     * Applies the property transitions of this builder to all the children views of the target view instead of the
+     * target view itself, with the range of each child calculated in accordance to cascade. The children are collected
+     * when the transition starts, and throws ClassCastException if the target view is not a ViewGroup.
+     * <p>
+     * Unlike {@link #transitViewGroup(ViewGroupTransition, Cascade)}, all children share the same compiled tracks and
+     * are updated together by a single {@link ViewGroupTransitionController}, which is preferable for ViewGroup with a
+     * large number of children.
+     *
+     * @param cascade
+     * @return
+     */
+    public ViewTransitionBuilder transitChildren(@NonNull Cascade cascade) {
+        mChildCascade = cascade;
+        return self();
+    }
+
     @CheckResult(suggest = "The created ViewTransition should be utilized")
     @Override
     protected ViewTransition createTransition() {
@@ -427,12 +442,41 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
 
         vt.setTarget(mView);
 
-        //TODO clone() is required since the class implements ViewTransition.Setup and passes itself to ViewTransition, without clone ViewTransitions made from the same Builder will have their states intertwined
-        vt.setSetup(clone());
+        if (canBuildSpec()) {
+            //the immutable TransitionSpec can be shared by all clones of the created ViewTransition
+            vt.setSetup(new TransitionSpec(this));
+        } else {
+            //TODO clone() is required since the class implements ViewTransition.Setup and passes itself to ViewTransition, without clone ViewTransitions made from the same Builder will have their states intertwined
+            vt.setSetup(clone());
+        }
 
         return vt;
     }
 
+    /**
+     * @return true if the builder only holds property transitions, i.e. no {@link DelayedEvaluator}, {@link TransitionHandler}
+     * or {@link ViewTransition.Setup} has been added and {@link #transitChildren(Cascade)} is not used, so it can be
+     * compiled into a {@link TransitionSpec}
+     */
+    public boolean canBuildSpec() {
+        return mDelayed.isEmpty() && mSetupList.isEmpty() && mCustomTransitionController == null && mChildCascade == null;
+    }
+
+    /**
+     * Compiles the builder into an immutable {@link TransitionSpec}, which can create any number of {@link ViewTransition}
+     * sharing the same tracks
+     *
+     * @return
+     * @throws IllegalStateException if {@link #canBuildSpec()} is false
+     */
+    @CheckResult
+    public TransitionSpec buildSpec() {
+        if (!canBuildSpec()) {
+            throw new IllegalStateException("Builder with DelayedEvaluator, TransitionHandler or Setup cannot be compiled");
+        }
+        return new TransitionSpec(this);
+    }
+
     @Override
     protected ViewTransitionBuilder self() {
         return this;
@@ -460,13 +504,11 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
             transitionControllerManager.addTransitionController(mCustomTransitionController.clone());
         }
 
-        ObjectAnimator anim = new ObjectAnimator();
-        anim.setTarget(mView);
-        anim.setValues(mHolders.values().toArray(new PropertyValuesHolder[0]));
-        AnimatorSet animatorSet = new AnimatorSet();
-        animatorSet.play(anim);
-        animatorSet.setDuration(SCALE_FACTOR);
-        transitionControllerManager.addAnimatorSetAsTransition(mView, animatorSet).setRange(mStart, mEnd);
+        if (mChildCascade == null) {
+            addPropertyTransitionControllers(transitionControllerManager, mView, 0);
+        } else {
+            new TransitionSpec(this).addChildTransitionControllers(transitionControllerManager, (ViewGroup) mView, mChildCascade);
+        }
     }
 
     /**
@@ -540,6 +582,19 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
             this.cascadeEnd = cascadeEnd;
             this.interpolator = interpolator;
         }
+
+        /**
+         * @param index index of the child view
+         * @param total total number of children
+         * @return the start of the range of the child view
+         */
+        float getChildStart(int index, int total) {
+            float fraction = (float) index / (total + 1);
+            if (reverse) {
+                fraction = 1 - fraction;
+            }
+            return cascadeStart + interpolator.getInterpolation(fraction) * (cascadeEnd - cascadeStart);
+        }
     }
 
     private static class HeightTransitionHandler extends ScaledTransitionHandler {
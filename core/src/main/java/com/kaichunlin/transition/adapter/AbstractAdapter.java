@@ -7,6 +7,8 @@ import com.kaichunlin.transition.DefaultTransitionManager;
 import com.kaichunlin.transition.Transition;
 import com.kaichunlin.transition.TransitionListener;
 import com.kaichunlin.transition.TransitionManager;
+import com.kaichunlin.transition.util.DefaultFrameClock;
+import com.kaichunlin.transition.util.FrameClock;
 
 import java.util.List;
 
@@ -18,6 +20,17 @@ import java.util.List;
 public abstract class AbstractAdapter implements TransitionAdapter {
     private TransitionManager mTransitionManager = new DefaultTransitionManager();
     private AdapterState mAdapterState;
+    private final Runnable mApplyPendingProgress = new Runnable() {
+        @Override
+        public void run() {
+            mHasPendingProgress = false;
+            mTransitionManager.updateProgress(mPendingProgress);
+        }
+    };
+    private FrameClock mFrameClock;
+    private boolean mCoalesceProgress;
+    private boolean mHasPendingProgress;
+    private float mPendingProgress;
 
     public AbstractAdapter() {
         mAdapterState = new AdapterState();
@@ -35,6 +48,51 @@ public abstract class AbstractAdapter implements TransitionAdapter {
         return mTransitionManager;
     }
 
+    /**
+     * When enabled, {@link #updateProgress(float)} only records the latest progress, which is applied once per frame,
+     * so the transitions are not evaluated several times a frame when input events arrive faster than the display
+     * refreshes. Disabled by default.
+     *
+     * @param coalesceProgress
+     */
+    public void setCoalesceProgress(boolean coalesceProgress) {
+        if (!coalesceProgress) {
+            flushProgress();
+        }
+        mCoalesceProgress = coalesceProgress;
+    }
+
+    public boolean isCoalesceProgress() {
+        return mCoalesceProgress;
+    }
+
+    /**
+     * @param frameClock the FrameClock driving coalesced progress updates, defaults to {@link DefaultFrameClock}
+     */
+    public void setFrameClock(@NonNull FrameClock frameClock) {
+        flushProgress();
+        mFrameClock = frameClock;
+    }
+
+    @NonNull
+    public FrameClock getFrameClock() {
+        if (mFrameClock == null) {
+            mFrameClock = DefaultFrameClock.getInstance();
+        }
+        return mFrameClock;
+    }
+
+    /**
+     * Immediately applies the progress recorded by {@link #updateProgress(float)} if it has yet to be applied
+     */
+    public void flushProgress() {
+        if (!mHasPendingProgress) {
+            return;
+        }
+        getFrameClock().removeFrameCallback(mApplyPendingProgress);
+        mApplyPendingProgress.run();
+    }
+
     @Override
     public AdapterState getAdapterState() {
         return mAdapterState;
@@ -71,6 +129,11 @@ public abstract class AbstractAdapter implements TransitionAdapter {
         return mTransitionManager.getTransitions();
     }
 
+    @Override
+    public void prewarm() {
+        mTransitionManager.prewarm();
+    }
+
     @Override
     public boolean startTransition() {
         return startTransition(getAdapterState().isOpen()?1:0);
@@ -82,6 +145,7 @@ public abstract class AbstractAdapter implements TransitionAdapter {
             return false;
         }
 
+        flushProgress();
         mTransitionManager.startTransition(progress);
         mAdapterState.setTransiting(true);
         return true;
@@ -89,7 +153,22 @@ public abstract class AbstractAdapter implements TransitionAdapter {
 
     @Override
     public void updateProgress(float value) {
-        mTransitionManager.updateProgress(value);
+        if (!mCoalesceProgress) {
+            mTransitionManager.updateProgress(value);
+            return;
+        }
+        mPendingProgress = value;
+        if (!mHasPendingProgress) {
+            mHasPendingProgress = true;
+            getFrameClock().postFrameCallback(mApplyPendingProgress);
+        }
+    }
+
+    @Override
+    public void setProgress(float progress) {
+        //a pending coalesced progress would otherwise overwrite this one on the next frame
+        flushProgress();
+        mTransitionManager.setProgress(progress);
     }
 
     @Override
@@ -98,6 +177,7 @@ public abstract class AbstractAdapter implements TransitionAdapter {
             return;
         }
 
+        flushProgress();
         mTransitionManager.stopTransition();
         mAdapterState.setTransiting(false);
     }
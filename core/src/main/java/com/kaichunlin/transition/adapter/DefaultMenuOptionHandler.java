@@ -43,7 +43,6 @@ public class DefaultMenuOptionHandler implements MenuOptionHandler {
             }
             if (mCloseConfig != null) {
                 if (hasOpen) {
-                    // TODO may cause issues when mOpenConfig.getTransition() has been merged
                     mTransitionManager.removeTransition(mOpenConfig.getTransition());
                 }
                 mTransitionManager.addTransition(mCloseConfig.getTransition());
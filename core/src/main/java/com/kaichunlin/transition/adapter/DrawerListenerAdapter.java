@@ -78,7 +78,7 @@ public class DrawerListenerAdapter extends MenuBaseAdapter implements DrawerLayo
 
     @Override
     public void onDrawerSlide(View view, float slideOffset) {
-        getTransitionManager().updateProgress(slideOffset);
+        updateProgress(slideOffset);
 
         if (view == null) {
             return;
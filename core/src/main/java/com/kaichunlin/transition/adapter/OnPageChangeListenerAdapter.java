@@ -16,8 +16,10 @@ import com.kaichunlin.transition.ViewTransitionBuilder;
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.util.TransitionStateLogger;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.WeakHashMap;
+import java.util.Map;
 
 /**
  * Adapter for PageView
@@ -132,7 +134,14 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
     }
 
     private final ViewPager mViewPager;
-    private final WeakHashMap<View, PageHolder> mTransitionListMap = new WeakHashMap<>();
+    //page -> its holder, the holder and its transitions reference the page until recycleHolder() removes the entry,
+    //which happens once the page has left the ViewPager, at the end of the drag or when a holder is needed for a new page
+    private final Map<View, PageHolder> mTransitionListMap = new HashMap<>();
+    //every holder created, kept across drags, holders without a page are reused for new pages
+    private final List<PageHolder> mHolderList = new ArrayList<>();
+    //pages evaluated and skipped since the last onPageScrolled
+    private int mEvaluatedPageCount;
+    private int mSkippedPageCount;
 
     public OnPageChangeListenerAdapter(ViewPager viewPager) {
         mViewPager = viewPager;
@@ -155,36 +164,75 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
         return this;
     }
 
+    /**
+     * Starts the drag, calling it again before {@link #stopTransition()} has no effect
+     *
+     * @return true if the drag has been started
+     */
+    @Override
     public boolean startTransition() {
-        throw new UnsupportedOperationException();
+        return startTransition(CENTER);
     }
 
+    /**
+     * Starts the drag, calling it again before {@link #stopTransition()} has no effect. The transitions of a page are
+     * started by {@link #transformPage(View, float)} once the page is first transformed.
+     *
+     * @param progress
+     * @return true if the drag has been started
+     */
+    @Override
     public boolean startTransition(float progress) {
-        throw new UnsupportedOperationException();
+        if (getAdapterState().isTransiting()) {
+            return false;
+        }
+        notifyTransitionStart();
+        getAdapterState().setTransiting(true);
+        return true;
     }
 
     private boolean startTransition(@NonNull View page) {
-        if (!getAdapterState().isTransiting()) {
-            notifyTransitionStart();
-        }
-
         PageHolder holder = mTransitionListMap.get(page);
         if (holder == null) {
-            holder = new PageHolder(page, getTransitionManager().getTransitions());
+            holder = obtainHolder();
+            holder.bind(page, getTransitionManager().getTransitions());
             mTransitionListMap.put(page, holder);
+        }
+        if (!holder.mStarted) {
+            holder.start(getTransitionManager().getTransitions());
+        }
 
-            List<Transition> transitionList = holder.mTransitionManager.getTransitions();
-            final int size = transitionList.size();
-            Transition transition;
-            for (int i = 0; i < size; i++) {
-                transition = transitionList.get(i);
-                transition.setUpdateStateAfterUpdateProgress(true);
-                transition.setTarget(page);
-                transition.startTransition();
+        return true;
+    }
+
+    /**
+     * @return a holder without a page, a holder whose page has been removed from the ViewPager, or a new holder
+     */
+    private PageHolder obtainHolder() {
+        PageHolder holder;
+        final int size = mHolderList.size();
+        for (int i = 0; i < size; i++) {
+            holder = mHolderList.get(i);
+            if (holder.mPage == null) {
+                return holder;
             }
         }
+        //pages removed by the PagerAdapter while dragging, e.g. FragmentStatePagerAdapter
+        for (int i = 0; i < size; i++) {
+            holder = mHolderList.get(i);
+            if (holder.mPage.getParent() != mViewPager) {
+                recycleHolder(holder);
+                return holder;
+            }
+        }
+        holder = new PageHolder();
+        mHolderList.add(holder);
+        return holder;
+    }
 
-        return true;
+    private void recycleHolder(@NonNull PageHolder holder) {
+        mTransitionListMap.remove(holder.mPage);
+        holder.unbind();
     }
 
     public void updateProgress(float value) {
@@ -202,26 +250,59 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
         holder.mTransitionManager.updateProgress(value);
     }
 
+    @Override
     public void stopTransition() {
+        if (!getAdapterState().isTransiting()) {
+            return;
+        }
         getAdapterState().setTransiting(false);
         notifyTransitionEnd();
 
-        for (PageHolder holder : mTransitionListMap.values()) {
-            holder.mTransitionManager.stopTransition();
+        PageHolder holder;
+        final int size = mHolderList.size();
+        for (int i = 0; i < size; i++) {
+            holder = mHolderList.get(i);
+            holder.stop();
+            //the transitions are kept for the next drag, unless the page is gone
+            if (holder.mPage != null && holder.mPage.getParent() != mViewPager) {
+                recycleHolder(holder);
+            }
         }
-        mTransitionListMap.clear();
     }
 
     @Override
     public void transformPage(@NonNull View page, float position) {
         if (getAdapterState().isTransiting()) {
             startTransition(page);
+            if (mTransitionListMap.get(page).isSettled(position)) {
+                mSkippedPageCount++;
+                return;
+            }
+            mEvaluatedPageCount++;
             updateProgress(page, position);
         }
     }
 
+    /**
+     * @return number of pages whose transitions were evaluated during the last scroll frame
+     */
+    public int getEvaluatedPageCount() {
+        return mEvaluatedPageCount;
+    }
+
+    /**
+     * @return number of pages skipped during the last scroll frame, since they stayed outside of the range of every
+     * transition and their end state had already been written
+     */
+    public int getSkippedPageCount() {
+        return mSkippedPageCount;
+    }
+
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        //ViewPager transforms the pages right after dispatching onPageScrolled, so each call starts a new frame
+        mEvaluatedPageCount = 0;
+        mSkippedPageCount = 0;
     }
 
     @Override
@@ -236,19 +317,113 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
                 break;
             case ViewPager.SCROLL_STATE_DRAGGING:
             case ViewPager.SCROLL_STATE_SETTLING:
-                getAdapterState().setTransiting(true);
+                startTransition(CENTER);
                 break;
         }
     }
 
+    /**
+     * Clones of the adapter's transitions bound to a page, created once and re-bound to other pages
+     */
     private static class PageHolder {
         final TransitionManager mTransitionManager = new DefaultTransitionManager();
+        //the adapter's transitions the clones were made from
+        Transition[] mSources;
+        View mPage;
+        boolean mStarted;
+        //union of the ranges of the transitions, and the position the transitions were last evaluated at
+        float mMinProgress;
+        float mMaxProgress;
+        float mLastPosition;
+
+        void bind(@NonNull View page, @NonNull List<Transition> transitionsList) {
+            if (!isCloneOf(transitionsList)) {
+                mTransitionManager.removeAllTransitions();
+                final int size = transitionsList.size();
+                mSources = transitionsList.toArray(new Transition[size]);
+                for (int i = 0; i < size; i++) {
+                    mTransitionManager.addTransition(transitionsList.get(i).clone());
+                }
+            }
+            mPage = page;
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            Transition transition;
+            for (int i = 0; i < size; i++) {
+                transition = transitionList.get(i);
+                transition.setUpdateStateAfterUpdateProgress(true);
+                transition.setTarget(page);
+            }
+        }
+
+        void start(@NonNull List<Transition> transitionsList) {
+            //the adapter's transitions have changed since the clones were made
+            if (!isCloneOf(transitionsList)) {
+                bind(mPage, transitionsList);
+            }
+            mMinProgress = Float.POSITIVE_INFINITY;
+            mMaxProgress = Float.NEGATIVE_INFINITY;
+            mLastPosition = Float.NaN;
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            Transition transition;
+            for (int i = 0; i < size; i++) {
+                transition = transitionList.get(i);
+                transition.startTransition();
+                if (transition instanceof ViewTransition) {
+                    mMinProgress = Math.min(mMinProgress, ((ViewTransition) transition).getMinProgress());
+                    mMaxProgress = Math.max(mMaxProgress, ((ViewTransition) transition).getMaxProgress());
+                } else {
+                    mMinProgress = Float.NEGATIVE_INFINITY;
+                    mMaxProgress = Float.POSITIVE_INFINITY;
+                }
+            }
+            mStarted = true;
+        }
+
+        /**
+         * @param position
+         * @return true if the position and the last evaluated position are past the same end of the range of every
+         * transition, in which case the page already has its clamped state and does not need to be evaluated
+         */
+        boolean isSettled(float position) {
+            if (position < mMinProgress && mLastPosition < mMinProgress || position > mMaxProgress && mLastPosition > mMaxProgress) {
+                return true;
+            }
+            mLastPosition = position;
+            return false;
+        }
 
-        public PageHolder(@NonNull View page, @NonNull List<Transition> transitionsList) {
+        void stop() {
+            if (!mStarted) {
+                return;
+            }
+            mTransitionManager.stopTransition();
+            mStarted = false;
+        }
+
+        void unbind() {
+            stop();
+            mPage = null;
+            //the controllers are kept, see ViewTransition.setTarget()
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            for (int i = 0; i < size; i++) {
+                transitionList.get(i).setTarget(null);
+            }
+        }
+
+        private boolean isCloneOf(@NonNull List<Transition> transitionsList) {
             final int size = transitionsList.size();
+            if (mSources == null || mSources.length != size) {
+                return false;
+            }
             for (int i = 0; i < size; i++) {
-                mTransitionManager.addTransition(transitionsList.get(i).clone());
+                if (mSources[i] != transitionsList.get(i)) {
+                    return false;
+                }
             }
+            return true;
         }
     }
 }
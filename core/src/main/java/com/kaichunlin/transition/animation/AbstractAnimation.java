@@ -6,23 +6,24 @@ import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.UiThread;
 
+import com.kaichunlin.transition.AbstractTransition;
 import com.kaichunlin.transition.TransitionOperation;
+import com.kaichunlin.transition.util.ListenerList;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Created by Kai on 2015/7/12.
  */
 public abstract class AbstractAnimation implements Animation {
-    @IntDef({CONTROLLER_ANIMATION, CONTROLLER_ANIMATOR})
+    @IntDef({CONTROLLER_ANIMATION, CONTROLLER_ANIMATOR, CONTROLLER_CLOCK})
     @Retention(RetentionPolicy.SOURCE)
     public @interface StateControllerType {}
 
     public static final int CONTROLLER_ANIMATION = 0;
     public static final int CONTROLLER_ANIMATOR = 1;
+    public static final int CONTROLLER_CLOCK = 2;
 
     protected final Runnable mStartAnimation = new Runnable() {
         @Override
@@ -32,12 +33,12 @@ public abstract class AbstractAnimation implements Animation {
     };
 
     protected Handler mHandler;
-    private final Set<AnimationListener> mAnimationListenerSet = new HashSet<>();
+    private final ListenerList<AnimationListener> mAnimationListenerList = new ListenerList<>();
     private int mDuration = -1;
     private boolean mReverse;
     private boolean mAnimating;
     private final TransitionOperation mTransition;
-    private @StateControllerType int mStateControllerType = CONTROLLER_ANIMATION;
+    private @StateControllerType int mStateControllerType = CONTROLLER_CLOCK;
 
     public AbstractAnimation() {
         mTransition = null;
@@ -48,12 +49,14 @@ public abstract class AbstractAnimation implements Animation {
     }
 
     /**
-     * The driver for the animation, can be either {@link #CONTROLLER_ANIMATION} or {@link #CONTROLLER_ANIMATOR},
-     * currently the chief difference is that {@link #CONTROLLER_ANIMATION} may be more performant in some situations,
-     * where as {@link #CONTROLLER_ANIMATOR} allows pausing/resuming the animation on API level 19 or later.
+     * The driver for the animation, can be {@link #CONTROLLER_CLOCK}, {@link #CONTROLLER_ANIMATION} or
+     * {@link #CONTROLLER_ANIMATOR}.
      * <p>
-     * {@link #CONTROLLER_ANIMATION} is the default, unless a valid View cannot be found (for example when animating
-     * the menu), then {@link #CONTROLLER_ANIMATOR} is automatically used.
+     * {@link #CONTROLLER_CLOCK} is the default, all such animations are advanced by the single frame callback of
+     * {@link TransitionClock} and can be paused/resumed on any API level. {@link #CONTROLLER_ANIMATION} may be more
+     * performant in some situations, where as {@link #CONTROLLER_ANIMATOR} allows pausing/resuming the animation on
+     * API level 19 or later; when a valid View cannot be found for {@link #CONTROLLER_ANIMATION} (for example when
+     * animating the menu), {@link #CONTROLLER_ANIMATOR} is automatically used.
      */
     public void setStateControllerType(@StateControllerType int stateControllerType) {
         mStateControllerType = stateControllerType;
@@ -72,14 +75,14 @@ public abstract class AbstractAnimation implements Animation {
      * @param animationListener
      */
     public void addAnimationListener(AnimationListener animationListener) {
-        mAnimationListenerSet.add(animationListener);
+        mAnimationListenerList.add(animationListener);
     }
 
     /**
      * @param animationListener
      */
     public void removeAnimationListener(AnimationListener animationListener) {
-        mAnimationListenerSet.remove(animationListener);
+        mAnimationListenerList.remove(animationListener);
     }
 
     public void setDuration(@IntRange(from = 0) int duration) {
@@ -135,6 +138,20 @@ public abstract class AbstractAnimation implements Animation {
         }, delay);
     }
 
+    /**
+     * Puts the transition back to the start of the animation, through the state captured when the transition was
+     * started if possible, otherwise by starting the transition again
+     */
+    void resetTransition() {
+        final TransitionOperation transition = getTransition();
+        if (transition instanceof AbstractTransition && ((AbstractTransition) transition).restoreStartState()) {
+            return;
+        }
+        transition.startTransition();
+        transition.updateProgress(isReverseAnimation() ? 1 : 0);
+        transition.stopTransition();
+    }
+
     protected void setAnimating(boolean animating) {
         mAnimating = animating;
     }
@@ -144,26 +161,34 @@ public abstract class AbstractAnimation implements Animation {
     }
 
     protected void notifyAnimationStart() {
-        for (AnimationListener listener : mAnimationListenerSet) {
-            listener.onAnimationStart(this);
+        final Object[] listeners = mAnimationListenerList.getArray();
+        final int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            ((AnimationListener) listeners[i]).onAnimationStart(this);
         }
     }
 
     protected void notifyAnimationEnd() {
-        for (AnimationListener listener : mAnimationListenerSet) {
-            listener.onAnimationEnd(this);
+        final Object[] listeners = mAnimationListenerList.getArray();
+        final int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            ((AnimationListener) listeners[i]).onAnimationEnd(this);
         }
     }
 
     protected void notifyAnimationCancel() {
-        for (AnimationListener listener : mAnimationListenerSet) {
-            listener.onAnimationCancel(this);
+        final Object[] listeners = mAnimationListenerList.getArray();
+        final int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            ((AnimationListener) listeners[i]).onAnimationCancel(this);
         }
     }
 
     protected void notifyAnimationReset() {
-        for (AnimationListener listener : mAnimationListenerSet) {
-            listener.onAnimationReset(this);
+        final Object[] listeners = mAnimationListenerList.getArray();
+        final int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            ((AnimationListener) listeners[i]).onAnimationReset(this);
         }
     }
 }
@@ -101,12 +101,8 @@ class AnimationController extends android.view.animation.Animation implements St
 
     @Override
     public void resetController() {
+        //the transitions are reset by onAnimationEnd
         handleStop(STOP_RESET);
-        AbstractAnimation ani;
-        for (int i = 0; i < mAnimationList.size(); i++) {
-            ani = mAnimationList.get(i);
-            ani.getTransition().updateProgress(ani.isReverseAnimation() ? 1 : 0);
-        }
     }
 
     public void cancelController() {
@@ -144,15 +140,18 @@ class AnimationController extends android.view.animation.Animation implements St
             switch (mStopType) {
                 case STOP_END:
                     ani.notifyAnimationEnd();
+                    ani.getTransition().stopTransition();
                     break;
                 case STOP_CANCEL:
                     ani.notifyAnimationCancel();
+                    ani.getTransition().stopTransition();
                     break;
                 case STOP_RESET:
+                    ani.getTransition().stopTransition();
+                    ani.resetTransition();
                     ani.notifyAnimationReset();
                     break;
             }
-            ani.getTransition().stopTransition();
         }
         mEnded = true;
     }
@@ -210,19 +210,23 @@ public class AnimationManager extends AbstractAnimation {
                 transitionList.add(transitionOperation);
             }
 
-            //TODO fugly
-            boolean forceAnimator = false;
-            View view = null;
-            for (int i = 0; i < size; i++) {
-                view = ((AbstractTransition) (mAnimationList.get(i).getTransition())).getTarget();
-                if (view == null) {
-                    forceAnimator = true;
+            if (getStateControllerType() == CONTROLLER_CLOCK) {
+                mSharedController = new ClockController(isReverseAnimation());
+            } else {
+                //TODO fugly
+                boolean forceAnimator = false;
+                View view = null;
+                for (int i = 0; i < size; i++) {
+                    view = ((AbstractTransition) (mAnimationList.get(i).getTransition())).getTarget();
+                    if (view == null) {
+                        forceAnimator = true;
+                    }
+                }
+                if (getStateControllerType() == CONTROLLER_ANIMATOR || forceAnimator) {
+                    mSharedController = new AnimatorController(isReverseAnimation());
+                } else {
+                    mSharedController = new AnimationController(view, isReverseAnimation(), transitionList);
                 }
-            }
-            if (getStateControllerType() == CONTROLLER_ANIMATOR || forceAnimator) {
-                mSharedController = new AnimatorController(isReverseAnimation());
-            } else if (getStateControllerType() == CONTROLLER_ANIMATION) {
-                mSharedController = new AnimationController(view, isReverseAnimation(), transitionList);
             }
 
             mSharedController.setAnimationDuration(duration);
@@ -294,7 +298,8 @@ public class AnimationManager extends AbstractAnimation {
     @UiThread
     @Override
     public void resetAnimation() {
-        if (mSharedController == null) {
+        //a stopped shared controller cannot notify the reset, each animation then resets itself
+        if (mSharedController == null || !isAnimating()) {
             final int size = mAnimationList.size();
             for (int i = 0; i < size; i++) {
                 mAnimationList.get(i).resetAnimation();
@@ -70,20 +70,8 @@ class AnimatorController extends ValueAnimator implements StateController, Value
     @Override
     public void resetController() {
         mReset = true;
-        AbstractAnimation ani;
-        for (int i = 0; i < mAnimationList.size(); i++) {
-            ani = mAnimationList.get(i);
-            ani.notifyAnimationReset();
-        }
+        //the transitions are reset and the reset notified by onAnimationCancel
         cancel();
-
-        //TODO optimize
-        for (int i = 0; i < mAnimationList.size(); i++) {
-            ani = mAnimationList.get(i);
-            ani.getTransition().startTransition();
-            ani.getTransition().updateProgress(ani.isReverseAnimation() ? 1 : 0);
-            ani.getTransition().stopTransition();
-        }
     }
 
     @Override
@@ -128,13 +116,15 @@ class AnimatorController extends ValueAnimator implements StateController, Value
         AbstractAnimation ani;
         for (int i = 0; i < mAnimationList.size(); i++) {
             ani = mAnimationList.get(i);
+            ani.setAnimating(false);
             if (mReset) {
+                ani.getTransition().stopTransition();
+                ani.resetTransition();
                 ani.notifyAnimationReset();
             } else {
                 ani.notifyAnimationCancel();
+                ani.getTransition().stopTransition();
             }
-            ani.setAnimating(false);
-            ani.getTransition().stopTransition();
         }
         mCancel = true;
     }
@@ -0,0 +1,143 @@
+package com.kaichunlin.transition.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link StateController} ticked by the shared {@link TransitionClock}, the default used by {@link AnimationManager}
+ * and {@link TransitionAnimation}. Does not require a target View, and supports pausing/resuming on all API levels.
+ */
+class ClockController implements StateController {
+    private static final int STOP_END = 0;
+    private static final int STOP_CANCEL = 1;
+    private static final int STOP_RESET = 2;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    //same as ValueAnimator, used when started without a duration
+    private static final long DEFAULT_DURATION = 300;
+    private final List<AbstractAnimation> mAnimationList = new ArrayList<>();
+    private final TransitionClock mClock;
+    private final boolean mReverse;
+    private long mDurationNanos = DEFAULT_DURATION * NANOS_PER_MILLI;
+    //frame time the animation started at, -1 until the first frame after start or resume
+    private long mStartTime = -1;
+    //time already elapsed when the animation was paused
+    private long mElapsedNanos;
+    private boolean mRunning;
+    private boolean mPaused;
+    //true while in the active list of TransitionClock, only written by TransitionClock
+    boolean mActive;
+
+    ClockController(boolean reverse) {
+        this(TransitionClock.getInstance(), reverse);
+    }
+
+    ClockController(TransitionClock clock, boolean reverse) {
+        mClock = clock;
+        mReverse = reverse;
+    }
+
+    @Override
+    public void addAnimation(AbstractAnimation animation) {
+        mAnimationList.add(animation);
+    }
+
+    @Override
+    public void setAnimationDuration(long duration) {
+        mDurationNanos = duration * NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void startController() {
+        mStartTime = -1;
+        mElapsedNanos = 0;
+        mRunning = true;
+        mPaused = false;
+        for (int i = 0; i < mAnimationList.size(); i++) {
+            mAnimationList.get(i).notifyAnimationStart();
+        }
+        mClock.add(this);
+    }
+
+    @Override
+    public void pauseController() {
+        if (!mRunning || mPaused) {
+            return;
+        }
+        mPaused = true;
+        if (mStartTime != -1) {
+            mElapsedNanos = mClock.getFrameClock().getFrameTimeNanos() - mStartTime;
+            mStartTime = -1;
+        }
+        mClock.remove(this);
+    }
+
+    @Override
+    public void resumeController() {
+        if (!mRunning || !mPaused) {
+            return;
+        }
+        mPaused = false;
+        mClock.add(this);
+    }
+
+    void tick(long frameTimeNanos) {
+        if (mStartTime == -1) {
+            mStartTime = frameTimeNanos - mElapsedNanos;
+        }
+        final long elapsed = frameTimeNanos - mStartTime;
+        if (elapsed >= mDurationNanos) {
+            stop(STOP_END);
+            return;
+        }
+        final float fraction = (float) elapsed / mDurationNanos;
+        final float progress = mReverse ? 1 - fraction : fraction;
+        for (int i = 0; i < mAnimationList.size(); i++) {
+            mAnimationList.get(i).getTransition().updateProgress(progress);
+        }
+    }
+
+    @Override
+    public void endController() {
+        stop(STOP_END);
+    }
+
+    @Override
+    public void resetController() {
+        stop(STOP_RESET);
+    }
+
+    @Override
+    public void cancelController() {
+        stop(STOP_CANCEL);
+    }
+
+    private void stop(int stopType) {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        mClock.remove(this);
+        AbstractAnimation ani;
+        for (int i = 0; i < mAnimationList.size(); i++) {
+            ani = mAnimationList.get(i);
+            ani.setAnimating(false);
+            switch (stopType) {
+                case STOP_END:
+                    ani.getTransition().updateProgress(mReverse ? 0 : 1);
+                    ani.notifyAnimationEnd();
+                    ani.getTransition().stopTransition();
+                    break;
+                case STOP_CANCEL:
+                    ani.notifyAnimationCancel();
+                    ani.getTransition().stopTransition();
+                    break;
+                case STOP_RESET:
+                    //restores the state captured when the transition was started
+                    ani.getTransition().stopTransition();
+                    ani.resetTransition();
+                    ani.notifyAnimationReset();
+                    break;
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.kaichunlin.transition.animation;
 
-import android.annotation.TargetApi;
-import android.os.Build;
 import android.os.Handler;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
@@ -20,28 +18,6 @@ public class TransitionAnimation extends AbstractAnimation {
 
     public TransitionAnimation(@NonNull TransitionOperation transition) {
         super(transition);
-
-        addAnimationListener(new AnimationListener() {
-            @Override
-            public void onAnimationStart(Animation animationManager) {
-
-            }
-
-            @Override
-            public void onAnimationEnd(Animation animationManager) {
-                getTransition().stopTransition();
-            }
-
-            @Override
-            public void onAnimationCancel(Animation animationManager) {
-                getTransition().stopTransition();
-            }
-
-            @Override
-            public void onAnimationReset(Animation animationManager) {
-                getTransition().stopTransition();
-            }
-        });
     }
 
     @Override
@@ -71,7 +47,9 @@ public class TransitionAnimation extends AbstractAnimation {
 
     @Override
     public void startAnimation(@IntRange(from = 0) final int duration) {
-        if (getStateControllerType() == CONTROLLER_ANIMATION) {
+        if (getStateControllerType() == CONTROLLER_CLOCK) {
+            mController = new ClockController(mReverse);
+        } else if (getStateControllerType() == CONTROLLER_ANIMATION) {
             View target = ((AbstractTransition) getTransition()).getTarget();
             if (target == null) {
                 setStateControllerType(CONTROLLER_ANIMATOR);
@@ -127,23 +105,15 @@ public class TransitionAnimation extends AbstractAnimation {
         }
     }
 
-    @TargetApi(19)
     @Override
     public void pauseAnimation() {
-        if (Build.VERSION.SDK_INT < 19) {
-            return;
-        }
         if (mController != null) {
             mController.pauseController();
         }
     }
 
-    @TargetApi(19)
     @Override
     public void resumeAnimation() {
-        if (Build.VERSION.SDK_INT < 19) {
-            return;
-        }
         if (mController != null) {
             mController.resumeController();
         }
@@ -157,16 +127,17 @@ public class TransitionAnimation extends AbstractAnimation {
         }
     }
 
+    /**
+     * Resets through the running controller, which notifies the reset, or directly if the animation is not running
+     */
     @Override
     public void resetAnimation() {
-        notifyAnimationReset();
-        if (mController != null) {
+        if (mController != null && isAnimating()) {
             mController.resetController();
-            mController = null;
+        } else {
+            resetTransition();
+            notifyAnimationReset();
         }
-        //TODO optimize
-        getTransition().startTransition();
-        getTransition().updateProgress(mReverse ? 1 : 0);
-        getTransition().stopTransition();
+        mController = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+
+import com.kaichunlin.transition.util.DefaultFrameClock;
+import com.kaichunlin.transition.util.FrameClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives every animation using {@link AbstractAnimation#CONTROLLER_CLOCK} from a single frame callback, so animations
+ * started by different adapters or {@link AnimationManager}s share one timing pipeline instead of each registering its
+ * own.
+ * <p>
+ * The frame callback is only posted while at least one animation is running. The frames come from
+ * {@link DefaultFrameClock} unless another {@link FrameClock} is set, for example a
+ * {@link com.kaichunlin.transition.util.ManualFrameClock} to step the animations deterministically.
+ */
+public final class TransitionClock {
+    private static TransitionClock sInstance;
+
+    private final List<ClockController> mActiveList = new ArrayList<>();
+    private final List<ClockController> mTickList = new ArrayList<>();
+    private final Runnable mTick = new Runnable() {
+        @Override
+        public void run() {
+            doFrame();
+        }
+    };
+    private FrameClock mFrameClock;
+    private boolean mPosted;
+
+    /**
+     * @return the TransitionClock shared by the main thread
+     */
+    @UiThread
+    public static TransitionClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new TransitionClock();
+        }
+        return sInstance;
+    }
+
+    private TransitionClock() {
+    }
+
+    /**
+     * @param frameClock the FrameClock producing the frames, running animations continue on the new FrameClock
+     */
+    @UiThread
+    public void setFrameClock(@NonNull FrameClock frameClock) {
+        if (mPosted) {
+            getFrameClock().removeFrameCallback(mTick);
+            mPosted = false;
+        }
+        mFrameClock = frameClock;
+        if (!mActiveList.isEmpty()) {
+            post();
+        }
+    }
+
+    @NonNull
+    public FrameClock getFrameClock() {
+        if (mFrameClock == null) {
+            mFrameClock = DefaultFrameClock.getInstance();
+        }
+        return mFrameClock;
+    }
+
+    /**
+     * @return number of running animation controllers, an {@link AnimationManager} running its animations together
+     * counts as one
+     */
+    public int getActiveCount() {
+        return mActiveList.size();
+    }
+
+    void add(@NonNull ClockController controller) {
+        if (controller.mActive) {
+            return;
+        }
+        controller.mActive = true;
+        mActiveList.add(controller);
+        post();
+    }
+
+    void remove(@NonNull ClockController controller) {
+        if (!controller.mActive) {
+            return;
+        }
+        controller.mActive = false;
+        mActiveList.remove(controller);
+        if (mActiveList.isEmpty() && mPosted) {
+            getFrameClock().removeFrameCallback(mTick);
+            mPosted = false;
+        }
+    }
+
+    private void post() {
+        if (mPosted) {
+            return;
+        }
+        mPosted = true;
+        getFrameClock().postFrameCallback(mTick);
+    }
+
+    private void doFrame() {
+        mPosted = false;
+        final long frameTimeNanos = getFrameClock().getFrameTimeNanos();
+        //controllers remove themselves once finished, and may be added or removed by the listeners notified while ticking
+        mTickList.addAll(mActiveList);
+        ClockController controller;
+        final int size = mTickList.size();
+        for (int i = 0; i < size; i++) {
+            controller = mTickList.get(i);
+            //skips the controllers stopped earlier in this frame
+            if (controller.mActive) {
+                controller.tick(frameTimeNanos);
+            }
+        }
+        mTickList.clear();
+        if (!mActiveList.isEmpty()) {
+            post();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.kaichunlin.transition.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public setter of a custom View taking a single float or int, so the processor module can generate a typed
+ * {@link com.nineoldandroids.util.Property} for it in the module's {@code GeneratedViewProperties}, placed in the
+ * package of the annotated classes unless the {@code transitProperty.package} processor option is set.
+ * <p>
+ * Once registered with {@link com.kaichunlin.transition.ViewProperty} by calling {@code GeneratedViewProperties.register()},
+ * {@code transitFloat("name", ...)} and {@code transitInt("name", ...)} set the property without reflection.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface TransitProperty {
+    /**
+     * @return the property name used by transitFloat/transitInt, derived from the setter name if empty, e.g.
+     * "gradientOffset" for setGradientOffset(float)
+     */
+    String value() default "";
+}
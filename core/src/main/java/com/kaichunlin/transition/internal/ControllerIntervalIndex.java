@@ -0,0 +1,225 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interval index over the ranges of a list of {@link TransitionController}, finds the controllers that need to be
+ * updated when progress moves, i.e. controllers whose range contains the previous progress, or was entered or crossed
+ * since. A controller leaving its range is thus updated once more so it can clamp its state.
+ * <p>
+ * Controllers not bound to their range (see {@link TransitionController#isRangeBound()}) are always updated.
+ */
+class ControllerIntervalIndex {
+    private final int mSize;
+    private final float[] mMins;
+    private final float[] mMaxs;
+    //controller indexes sorted by the start/end of their range, and the matching sorted values
+    private final int[] mByMin;
+    private final float[] mSortedMins;
+    private final int[] mByMax;
+    private final float[] mSortedMaxs;
+    private final int[] mUnbound;
+    private final int mUnboundCount;
+
+    //controllers whose range contains the last progress
+    private final int[] mInsideList;
+    private int mInsideCount;
+
+    private final int[] mResult;
+    private final boolean[] mMarked;
+    private float mLastProgress;
+    private boolean mHasLastProgress;
+
+    ControllerIntervalIndex(@NonNull List<TransitionController> controllers) {
+        final int size = controllers.size();
+        mSize = size;
+        mMins = new float[size];
+        mMaxs = new float[size];
+        mUnbound = new int[size];
+        int boundCount = 0;
+        int unboundCount = 0;
+        TransitionController controller;
+        for (int i = 0; i < size; i++) {
+            controller = controllers.get(i);
+            if (controller.isRangeBound()) {
+                mMins[i] = Math.min(controller.getStart(), controller.getEnd());
+                mMaxs[i] = Math.max(controller.getStart(), controller.getEnd());
+                boundCount++;
+            } else {
+                mMins[i] = Float.NaN;
+                mMaxs[i] = Float.NaN;
+                mUnbound[unboundCount++] = i;
+            }
+        }
+        mUnboundCount = unboundCount;
+
+        mByMin = sortBy(mMins, boundCount);
+        mSortedMins = getSorted(mMins, mByMin);
+        mByMax = sortBy(mMaxs, boundCount);
+        mSortedMaxs = getSorted(mMaxs, mByMax);
+
+        mInsideList = new int[size];
+        mResult = new int[size];
+        mMarked = new boolean[size];
+    }
+
+    /**
+     * @return the indexes of the range bound controllers, sorted by the supplied values
+     */
+    private int[] sortBy(float[] values, int boundCount) {
+        //the value is packed in the upper bits so sorting the longs sorts the indexes by value
+        final long[] packed = new long[boundCount];
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            if (!Float.isNaN(values[i])) {
+                packed[count++] = ((long) sortableBits(values[i]) << 32) | i;
+            }
+        }
+        Arrays.sort(packed);
+        final int[] indexes = new int[boundCount];
+        for (int i = 0; i < boundCount; i++) {
+            indexes[i] = (int) packed[i];
+        }
+        return indexes;
+    }
+
+    /**
+     * @return the bits of value, ordered the same way as the float values when compared as signed int
+     */
+    private static int sortableBits(float value) {
+        final int bits = Float.floatToIntBits(value);
+        return bits < 0 ? bits ^ Integer.MAX_VALUE : bits;
+    }
+
+    private static float[] getSorted(float[] values, int[] indexes) {
+        final int size = indexes.length;
+        final float[] sorted = new float[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = values[indexes[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * @return index of the first value greater than key, or sorted.length
+     */
+    private static int upperBound(float[] sorted, float key) {
+        int low = 0;
+        int high = sorted.length;
+        int mid;
+        while (low < high) {
+            mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return index of the first value greater or equal to key, or sorted.length
+     */
+    private static int lowerBound(float[] sorted, float key) {
+        int low = 0;
+        int high = sorted.length;
+        int mid;
+        while (low < high) {
+            mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Forgets the last progress, the next {@link #query(float)} returns every controller
+     */
+    void reset() {
+        mHasLastProgress = false;
+    }
+
+    /**
+     * Finds the controllers to be updated for the supplied progress, their indexes are available from {@link #getResult()}
+     *
+     * @param progress
+     * @return number of indexes in {@link #getResult()}, sorted in ascending order
+     */
+    int query(float progress) {
+        final int[] result = mResult;
+        int count = 0;
+        if (!mHasLastProgress) {
+            for (int i = 0; i < mSize; i++) {
+                result[count++] = i;
+            }
+        } else {
+            final boolean[] marked = mMarked;
+            int index;
+            for (int i = 0; i < mUnboundCount; i++) {
+                index = mUnbound[i];
+                marked[index] = true;
+                result[count++] = index;
+            }
+            for (int i = 0; i < mInsideCount; i++) {
+                index = mInsideList[i];
+                marked[index] = true;
+                result[count++] = index;
+            }
+            final float last = mLastProgress;
+            if (progress > last) {
+                //ranges starting in (last..progress]
+                final int size = mSortedMins.length;
+                for (int i = upperBound(mSortedMins, last); i < size && mSortedMins[i] <= progress; i++) {
+                    index = mByMin[i];
+                    if (!marked[index]) {
+                        marked[index] = true;
+                        result[count++] = index;
+                    }
+                }
+            } else if (progress < last) {
+                //ranges ending in [progress..last)
+                final int size = mSortedMaxs.length;
+                for (int i = lowerBound(mSortedMaxs, progress); i < size && mSortedMaxs[i] < last; i++) {
+                    index = mByMax[i];
+                    if (!marked[index]) {
+                        marked[index] = true;
+                        result[count++] = index;
+                    }
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                marked[result[i]] = false;
+            }
+            //controllers must be updated in the order they were added
+            Arrays.sort(result, 0, count);
+        }
+
+        //every controller whose range contains progress was returned, so the inside list can be rebuilt from the result
+        int insideCount = 0;
+        int index;
+        for (int i = 0; i < count; i++) {
+            index = result[i];
+            if (mMins[index] <= progress && progress <= mMaxs[index]) {
+                mInsideList[insideCount++] = index;
+            }
+        }
+        mInsideCount = insideCount;
+        mLastProgress = progress;
+        mHasLastProgress = true;
+        return count;
+    }
+
+    /**
+     * @return indexes of the controllers found by the last {@link #query(float)}
+     */
+    int[] getResult() {
+        return mResult;
+    }
+}
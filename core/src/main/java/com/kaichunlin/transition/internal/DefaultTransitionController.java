@@ -8,9 +8,11 @@ import android.view.View;
 import com.kaichunlin.transition.TransitionConfig;
 import com.nineoldandroids.animation.Animator;
 import com.nineoldandroids.animation.AnimatorSet;
+import com.nineoldandroids.animation.PropertyValuesHolder;
 import com.nineoldandroids.animation.ValueAnimator;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * NineOldAndroids' ObjectAnimator is used to provide required transition behavior.
@@ -21,7 +23,8 @@ import java.util.ArrayList;
  */
 public class DefaultTransitionController extends TransitionController<DefaultTransitionController> implements Cloneable {
     protected AnimatorSet mAnimSet;
-    private int mUpdateCount;
+    //AnimatorSet.getChildAnimations() creates a new list on every call
+    private final ArrayList<Animator> mAnimators;
 
     /**
      * Wraps an Animator as a DefaultTransitionController
@@ -58,7 +61,8 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
         this.mAnimSet = mAnimSet;
         mStartDelay = mAnimSet.getStartDelay();
 
-        ArrayList<Animator> animators = mAnimSet.getChildAnimations();
+        mAnimators = mAnimSet.getChildAnimations();
+        final ArrayList<Animator> animators = mAnimators;
         final int size = animators.size();
         Animator animator;
         for (int i = 0; i < size; i++) {
@@ -95,7 +99,7 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
         if (mTarget == null && mInterpolator == null) {
             return;
         }
-        ArrayList<Animator> animators = mAnimSet.getChildAnimations();
+        final ArrayList<Animator> animators = mAnimators;
         final int size = animators.size();
         Animator animator;
         for (int i = 0; i < size; i++) {
@@ -111,71 +115,14 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
 
     @Override
     public void updateProgress(float progress) {
-        String debug = "";
-        final boolean DEBUG = TransitionConfig.isDebug();
-
-        long time = 0;
-        if (mStart < mEnd && progress >= mStart && progress <= mEnd || mStart > mEnd && progress >= mEnd && progress <= mStart) {
-            //forward progression
-            if (mStart < mEnd) {
-                time = (long) (mTotalDuration * (progress - mStart) / mProgressWidth);
-                //backward
-            } else {
-                time = (long) (mTotalDuration - mTotalDuration * (progress - mEnd) / mProgressWidth);
-            }
-            time -= mStartDelay;
-
-            if (time > 0) {
-                mStarted = true;
-            }
-            if (DEBUG) {
-                debug = "forward progression: [" + mStart + ".." + mEnd + "], mStarted=" + mStarted;
-            }
-            mUpdateCount++;
-        } else {
-            //forward
-            if (mStart < mEnd) {
-                if (progress < mStart) {
-                    time = 0;
-                    if (DEBUG) {
-                        debug = "forward progression: [" + mStart + ".." + mEnd + "], pre-start, progress=" + progress;
-                    }
-                } else if (progress > mEnd) {
-                    time = mTotalDuration;
-                    if (mUpdateCount == 1) {
-                        mUpdateCount = -1;
-                    }
-                    if (DEBUG) {
-                        debug = "forward progression: [" + mStart + ".." + mEnd + "], post-finish, progress=" + progress;
-                    }
-                }
-                //backward
-            } else if (mStart > mEnd) {
-                if (progress > mStart) {
-                    time = 0;
-                    if (DEBUG) {
-                        debug = "forward progression: [" + mStart + ".." + mEnd + "], pre-start, progress=" + progress;
-                    }
-                } else if (progress < mEnd) {
-                    time = mTotalDuration;
-                    if (mUpdateCount == 1) {
-                        mUpdateCount = -1;
-                    }
-                    if (DEBUG) {
-                        debug = "forward progression: [" + mStart + ".." + mEnd + "], post-finish, progress=" + progress;
-                    }
-                }
-            }
-        }
+        final float startOffset = mTotalDuration == 0 ? 0 : (float) mStartDelay / mTotalDuration;
+        //floored so a time before the start delay stays negative, as with the start delay subtracted in milliseconds
+        final long time = (long) Math.floor(mTotalDuration * computePosition(progress, startOffset));
 
         //TODO hack to make it work for ViewPager, removing mUpdateStateAfterUpdateProgress would break it for everything else
 //        if (mSetup && mUpdateStateAfterUpdateProgress) {
         updateState(time);
 //        }
-
-        if (DEBUG) {
-            appendLog("updateProgress: \t" + debug);
-        }
     }
 
     private void updateState(long time) {
@@ -189,7 +136,7 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
 
         mSetup = false;
         mLastTime = time;
-        ArrayList<Animator> animators = mAnimSet.getChildAnimations();
+        final ArrayList<Animator> animators = mAnimators;
         final int size = animators.size();
         for (int i = 0; i < size; i++) {
             ValueAnimator va = (ValueAnimator) animators.get(i);
@@ -200,8 +147,34 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
         }
     }
 
-    private void appendLog(String msg) {
-        getTransitionStateHolder().append(getId() + "->View" + mTarget.hashCode(), this, msg);
+    /**
+     * Only the target of this controller is considered, Views targeted by the wrapped Animators alone are not
+     */
+    @Override
+    void addLayerViews(@NonNull List<View> views) {
+        if (mTarget == null || views.contains(mTarget)) {
+            return;
+        }
+        final ArrayList<Animator> animators = mAnimators;
+        final int size = animators.size();
+        PropertyValuesHolder[] values;
+        for (int i = 0; i < size; i++) {
+            values = ((ValueAnimator) animators.get(i)).getValues();
+            if (values == null) {
+                continue;
+            }
+            for (int j = 0; j < values.length; j++) {
+                if (ViewProperties.isLayerFriendly(ViewProperties.indexOf(values[j].getPropertyName()))) {
+                    views.add(mTarget);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    boolean isRangeBound() {
+        return true;
     }
 
     @CheckResult
@@ -0,0 +1,131 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fuses the {@link PropertyTransitionController} targeting the same View, created by {@link TransitionControllerManager}
+ * when a transition starts.
+ * <p>
+ * The tracks of all members are flattened into parallel arrays and evaluated in a single loop, the resulting values
+ * are collected per property and each property is written to the View once per {@link #updateProgress(float)}; when
+ * several members produce a value for the same property, the one added last wins, same as when the members are
+ * updated one by one.
+ */
+class FusedTransitionController extends TransitionController<FusedTransitionController> {
+    private final List<PropertyTransitionController> mMemberList = new ArrayList<>();
+
+    private PropertyTransitionController[] mMembers;
+    //first track of each member, with an extra entry marking the end of the last member's tracks
+    private int[] mMemberTrackStart;
+    private int[] mTrackProperties;
+    private KeyframeTrack[] mTracks;
+
+    private final float[] mPendingValues = new float[ViewProperties.COUNT];
+
+    FusedTransitionController(@NonNull View target) {
+        super(target);
+    }
+
+    void fuse(@NonNull PropertyTransitionController controller) {
+        mMemberList.add(controller);
+        mMembers = null;
+    }
+
+    int getMemberCount() {
+        return mMemberList.size();
+    }
+
+    PropertyTransitionController getMember(int index) {
+        return mMemberList.get(index);
+    }
+
+    private void compile() {
+        final int size = mMemberList.size();
+        mMembers = mMemberList.toArray(new PropertyTransitionController[size]);
+        mMemberTrackStart = new int[size + 1];
+        int trackCount = 0;
+        for (int i = 0; i < size; i++) {
+            mMemberTrackStart[i] = trackCount;
+            trackCount += mMembers[i].getProperties().length;
+        }
+        mMemberTrackStart[size] = trackCount;
+
+        mTrackProperties = new int[trackCount];
+        mTracks = new KeyframeTrack[trackCount];
+        int[] properties;
+        KeyframeTrack[] tracks;
+        for (int i = 0; i < size; i++) {
+            properties = mMembers[i].getProperties();
+            tracks = mMembers[i].getTracks();
+            System.arraycopy(properties, 0, mTrackProperties, mMemberTrackStart[i], properties.length);
+            System.arraycopy(tracks, 0, mTracks, mMemberTrackStart[i], tracks.length);
+        }
+    }
+
+    /**
+     * The members are started by {@link TransitionControllerManager}, this only prepares the flattened tracks
+     */
+    @Override
+    public void start() {
+        super.start();
+        if (mMembers == null) {
+            compile();
+        }
+        //the range covers the ranges of all members
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        PropertyTransitionController member;
+        final int size = mMembers.length;
+        for (int i = 0; i < size; i++) {
+            member = mMembers[i];
+            min = Math.min(min, Math.min(member.getStart(), member.getEnd()));
+            max = Math.max(max, Math.max(member.getStart(), member.getEnd()));
+        }
+        setRange(min, max);
+    }
+
+    @Override
+    boolean isRangeBound() {
+        return true;
+    }
+
+    @Override
+    protected void updateProgress(float progress) {
+        final PropertyTransitionController[] members = mMembers;
+        final int[] memberTrackStart = mMemberTrackStart;
+        final int[] trackProperties = mTrackProperties;
+        final KeyframeTrack[] tracks = mTracks;
+        final float[] pendingValues = mPendingValues;
+        int pendingMask = 0;
+        float fraction;
+        int property;
+        final int size = members.length;
+        for (int i = 0; i < size; i++) {
+            fraction = members[i].computeFraction(members[i].computeTime(progress));
+            if (Float.isNaN(fraction)) {
+                continue;
+            }
+            for (int j = memberTrackStart[i], end = memberTrackStart[i + 1]; j < end; j++) {
+                property = trackProperties[j];
+                pendingValues[property] = tracks[j].getFloatValue(fraction);
+                pendingMask |= 1 << property;
+            }
+        }
+
+        final View target = mTarget;
+        for (int i = 0; pendingMask != 0; i++, pendingMask >>>= 1) {
+            if ((pendingMask & 1) != 0) {
+                ViewProperties.set(target, i, pendingValues[i]);
+            }
+        }
+    }
+
+    @Override
+    protected FusedTransitionController self() {
+        return this;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.kaichunlin.transition.R;
+
+/**
+ * Switches Views to {@link View#LAYER_TYPE_HARDWARE} while they are being transited, the number of transitions
+ * holding the layer and the original layer type are kept as tags on the View so transitions sharing a View do not
+ * restore the layer type while another one is still running.
+ */
+public final class HardwareLayers {
+    private HardwareLayers() {
+    }
+
+    /**
+     * @param view
+     */
+    public static void acquire(@NonNull View view) {
+        Integer count = (Integer) view.getTag(R.id.transition_layer_count);
+        if (count == null || count == 0) {
+            final int layerType = view.getLayerType();
+            view.setTag(R.id.transition_layer_type, layerType);
+            if (layerType != View.LAYER_TYPE_HARDWARE) {
+                view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+            }
+            count = 0;
+        }
+        view.setTag(R.id.transition_layer_count, count + 1);
+    }
+
+    /**
+     * Restores the original layer type when the last transition holding the layer releases it
+     *
+     * @param view
+     */
+    public static void release(@NonNull View view) {
+        Integer count = (Integer) view.getTag(R.id.transition_layer_count);
+        if (count == null || count == 0) {
+            return;
+        }
+        if (count > 1) {
+            view.setTag(R.id.transition_layer_count, count - 1);
+            return;
+        }
+        final int layerType = (Integer) view.getTag(R.id.transition_layer_type);
+        if (view.getLayerType() != layerType) {
+            view.setLayerType(layerType, null);
+        }
+        view.setTag(R.id.transition_layer_count, null);
+        view.setTag(R.id.transition_layer_type, null);
+    }
+}
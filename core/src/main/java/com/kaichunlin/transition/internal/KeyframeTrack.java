@@ -0,0 +1,214 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+
+/**
+ * Precompiled keyframes of a single property, values are stored in primitive arrays together with their fractions so
+ * evaluating the track neither boxes nor allocates.
+ * <p>
+ * The interval found by the last evaluation is cached, sequential scrubbing (the common case when following a drag)
+ * only checks the cached interval or its neighbour. Each controller evaluates its own {@link #copy()} so the cache
+ * follows a single target and is never written from two controllers, the keyframes themselves are shared.
+ */
+public class KeyframeTrack {
+    private final float[] mFractions;
+    private final float[] mFloatValues;
+    private final int[] mIntValues;
+    private final boolean mMirrored;
+    private int mLastIndex;
+
+    private KeyframeTrack(@NonNull float[] fractions, float[] floatValues, int[] intValues, boolean mirrored) {
+        mFractions = fractions;
+        mFloatValues = floatValues;
+        mIntValues = intValues;
+        mMirrored = mirrored;
+    }
+
+    /**
+     * @param values evenly spaced values, at least 2 values are required for the track to be evaluated
+     * @return
+     */
+    public static KeyframeTrack ofFloat(@NonNull float... values) {
+        return new KeyframeTrack(createFractions(values.length), values, null, false);
+    }
+
+    /**
+     * @param values evenly spaced values, at least 2 values are required for the track to be evaluated
+     * @return
+     */
+    public static KeyframeTrack ofInt(@NonNull int... values) {
+        return new KeyframeTrack(createFractions(values.length), null, values, false);
+    }
+
+    private static float[] createFractions(int count) {
+        final float[] fractions = new float[count];
+        final int lastIndex = count - 1;
+        for (int i = 1; i < lastIndex; i++) {
+            fractions[i] = (float) i / lastIndex;
+        }
+        if (lastIndex > 0) {
+            fractions[lastIndex] = 1;
+        }
+        return fractions;
+    }
+
+    /**
+     * @return a track running from the last value to the first one, the arrays of this track are reused by mirroring the index
+     */
+    @CheckResult
+    public KeyframeTrack reverse() {
+        return new KeyframeTrack(mFractions, mFloatValues, mIntValues, !mMirrored);
+    }
+
+    /**
+     * @return a track sharing the keyframes of this track, with its own cached interval
+     */
+    @CheckResult
+    public KeyframeTrack copy() {
+        return new KeyframeTrack(mFractions, mFloatValues, mIntValues, mMirrored);
+    }
+
+    /**
+     * @param tracks
+     * @return a {@link #copy()} of each of the tracks
+     */
+    @CheckResult
+    public static KeyframeTrack[] copyOf(@NonNull KeyframeTrack[] tracks) {
+        final int size = tracks.length;
+        final KeyframeTrack[] copies = new KeyframeTrack[size];
+        for (int i = 0; i < size; i++) {
+            copies[i] = tracks[i].copy();
+        }
+        return copies;
+    }
+
+    public boolean isFloat() {
+        return mFloatValues != null;
+    }
+
+    /**
+     * @return number of keyframes
+     */
+    public int size() {
+        return mFractions.length;
+    }
+
+    /**
+     * @param index
+     * @return the value of the keyframe at index, as seen from the current direction of the track
+     */
+    public float getFloatKeyframe(int index) {
+        if (mMirrored) {
+            index = mFractions.length - 1 - index;
+        }
+        return isFloat() ? mFloatValues[index] : mIntValues[index];
+    }
+
+    /**
+     * @param index
+     * @return the value of the keyframe at index, as seen from the current direction of the track
+     */
+    public int getIntKeyframe(int index) {
+        if (mMirrored) {
+            index = mFractions.length - 1 - index;
+        }
+        return isFloat() ? (int) mFloatValues[index] : mIntValues[index];
+    }
+
+    /**
+     * Same result as NineOldAndroids' FloatKeyframeSet, fraction outside of [0..1] is extrapolated from the first or
+     * last interval.
+     *
+     * @param fraction
+     * @return
+     */
+    public float getFloatValue(float fraction) {
+        if (mMirrored) {
+            fraction = 1 - fraction;
+        }
+        final int index = findInterval(fraction);
+        final float prevFraction = mFractions[index];
+        final float intervalFraction = (fraction - prevFraction) / (mFractions[index + 1] - prevFraction);
+        if (isFloat()) {
+            final float prevValue = mFloatValues[index];
+            return prevValue + intervalFraction * (mFloatValues[index + 1] - prevValue);
+        } else {
+            final int prevValue = mIntValues[index];
+            return prevValue + intervalFraction * (mIntValues[index + 1] - prevValue);
+        }
+    }
+
+    /**
+     * Same result as NineOldAndroids' IntKeyframeSet, fraction outside of [0..1] is extrapolated from the first or
+     * last interval.
+     *
+     * @param fraction
+     * @return
+     */
+    public int getIntValue(float fraction) {
+        if (!isFloat()) {
+            if (mMirrored) {
+                //evaluated from the end of the interval so rounding matches a track created with the reversed values
+                final int index = findInterval(1 - fraction);
+                final float nextFraction = mFractions[index + 1];
+                final float intervalFraction = (fraction - (1 - nextFraction)) / (nextFraction - mFractions[index]);
+                final int prevValue = mIntValues[index + 1];
+                return prevValue + (int) (intervalFraction * (mIntValues[index] - prevValue));
+            }
+            final int index = findInterval(fraction);
+            final float prevFraction = mFractions[index];
+            final float intervalFraction = (fraction - prevFraction) / (mFractions[index + 1] - prevFraction);
+            final int prevValue = mIntValues[index];
+            return prevValue + (int) (intervalFraction * (mIntValues[index + 1] - prevValue));
+        }
+        return (int) getFloatValue(fraction);
+    }
+
+    /**
+     * @param fraction
+     * @return index of the interval containing fraction, clamped to the first and last interval
+     */
+    private int findInterval(float fraction) {
+        final float[] fractions = mFractions;
+        final int lastInterval = fractions.length - 2;
+        int index = mLastIndex;
+        if (fraction < fractions[index]) {
+            while (index > 0 && fraction < fractions[index]) {
+                index--;
+            }
+        } else {
+            while (index < lastInterval && fraction >= fractions[index + 1]) {
+                index++;
+            }
+        }
+        mLastIndex = index;
+        return index;
+    }
+
+    /**
+     * @return a copy of the values in the current direction of the track
+     */
+    @NonNull
+    public float[] toFloatArray() {
+        final int size = mFractions.length;
+        final float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = getFloatKeyframe(i);
+        }
+        return values;
+    }
+
+    /**
+     * @return a copy of the values in the current direction of the track
+     */
+    @NonNull
+    public int[] toIntArray() {
+        final int size = mFractions.length;
+        final int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = getIntKeyframe(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,90 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.nineoldandroids.view.ViewHelper;
+
+/**
+ * Writes properties through NineOldAndroids' ViewHelper, for apps that mix transitions with code relying on
+ * NineOldAndroids' AnimatorProxy
+ */
+public class NineOldAndroidsPropertyBackend implements PropertyBackend {
+    public static final NineOldAndroidsPropertyBackend INSTANCE = new NineOldAndroidsPropertyBackend();
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @param value
+     */
+    @Override
+    public void set(@NonNull View view, int property, float value) {
+        switch (property) {
+            case ViewProperties.ALPHA:
+                ViewHelper.setAlpha(view, value);
+                break;
+            case ViewProperties.ROTATION:
+                ViewHelper.setRotation(view, value);
+                break;
+            case ViewProperties.ROTATION_X:
+                ViewHelper.setRotationX(view, value);
+                break;
+            case ViewProperties.ROTATION_Y:
+                ViewHelper.setRotationY(view, value);
+                break;
+            case ViewProperties.SCALE_X:
+                ViewHelper.setScaleX(view, value);
+                break;
+            case ViewProperties.SCALE_Y:
+                ViewHelper.setScaleY(view, value);
+                break;
+            case ViewProperties.TRANSLATION_X:
+                ViewHelper.setTranslationX(view, value);
+                break;
+            case ViewProperties.TRANSLATION_Y:
+                ViewHelper.setTranslationY(view, value);
+                break;
+            case ViewProperties.X:
+                ViewHelper.setX(view, value);
+                break;
+            case ViewProperties.Y:
+                ViewHelper.setY(view, value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported property: " + property);
+        }
+    }
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @return the current value of the property
+     */
+    @Override
+    public float get(@NonNull View view, int property) {
+        switch (property) {
+            case ViewProperties.ALPHA:
+                return ViewHelper.getAlpha(view);
+            case ViewProperties.ROTATION:
+                return ViewHelper.getRotation(view);
+            case ViewProperties.ROTATION_X:
+                return ViewHelper.getRotationX(view);
+            case ViewProperties.ROTATION_Y:
+                return ViewHelper.getRotationY(view);
+            case ViewProperties.SCALE_X:
+                return ViewHelper.getScaleX(view);
+            case ViewProperties.SCALE_Y:
+                return ViewHelper.getScaleY(view);
+            case ViewProperties.TRANSLATION_X:
+                return ViewHelper.getTranslationX(view);
+            case ViewProperties.TRANSLATION_Y:
+                return ViewHelper.getTranslationY(view);
+            case ViewProperties.X:
+                return ViewHelper.getX(view);
+            case ViewProperties.Y:
+                return ViewHelper.getY(view);
+            default:
+                throw new IllegalArgumentException("Unsupported property: " + property);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Writes properties through the platform's typed View setters, the default {@link PropertyBackend}
+ */
+public class PlatformPropertyBackend implements PropertyBackend {
+    public static final PlatformPropertyBackend INSTANCE = new PlatformPropertyBackend();
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @param value
+     */
+    @Override
+    public void set(@NonNull View view, int property, float value) {
+        setValue(view, property, value);
+    }
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @return the current value of the property
+     */
+    @Override
+    public float get(@NonNull View view, int property) {
+        return getValue(view, property);
+    }
+
+    /**
+     * Called directly by {@link ViewProperties} while no other backend is set, so the default path is a static call
+     *
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @param value
+     */
+    static void setValue(@NonNull View view, int property, float value) {
+        switch (property) {
+            case ViewProperties.ALPHA:
+                view.setAlpha(value);
+                break;
+            case ViewProperties.ROTATION:
+                view.setRotation(value);
+                break;
+            case ViewProperties.ROTATION_X:
+                view.setRotationX(value);
+                break;
+            case ViewProperties.ROTATION_Y:
+                view.setRotationY(value);
+                break;
+            case ViewProperties.SCALE_X:
+                view.setScaleX(value);
+                break;
+            case ViewProperties.SCALE_Y:
+                view.setScaleY(value);
+                break;
+            case ViewProperties.TRANSLATION_X:
+                view.setTranslationX(value);
+                break;
+            case ViewProperties.TRANSLATION_Y:
+                view.setTranslationY(value);
+                break;
+            case ViewProperties.X:
+                view.setX(value);
+                break;
+            case ViewProperties.Y:
+                view.setY(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported property: " + property);
+        }
+    }
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @return the current value of the property
+     */
+    static float getValue(@NonNull View view, int property) {
+        switch (property) {
+            case ViewProperties.ALPHA:
+                return view.getAlpha();
+            case ViewProperties.ROTATION:
+                return view.getRotation();
+            case ViewProperties.ROTATION_X:
+                return view.getRotationX();
+            case ViewProperties.ROTATION_Y:
+                return view.getRotationY();
+            case ViewProperties.SCALE_X:
+                return view.getScaleX();
+            case ViewProperties.SCALE_Y:
+                return view.getScaleY();
+            case ViewProperties.TRANSLATION_X:
+                return view.getTranslationX();
+            case ViewProperties.TRANSLATION_Y:
+                return view.getTranslationY();
+            case ViewProperties.X:
+                return view.getX();
+            case ViewProperties.Y:
+                return view.getY();
+            default:
+                throw new IllegalArgumentException("Unsupported property: " + property);
+        }
+    }
+}
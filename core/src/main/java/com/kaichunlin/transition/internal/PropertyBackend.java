@@ -0,0 +1,23 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Reads and writes the properties defined in {@link ViewProperties}
+ */
+public interface PropertyBackend {
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @param value
+     */
+    void set(@NonNull View view, int property, float value);
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     * @return the current value of the property
+     */
+    float get(@NonNull View view, int property);
+}
@@ -0,0 +1,92 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Values of the {@link ViewProperties} written by a set of {@link TransitionController}, captured by
+ * {@link TransitionControllerManager} once the transition has been started and updated to its start progress, so the
+ * Views can be put back to that state by {@link #restore()}, without going through the controllers.
+ * <p>
+ * Each View is listed once along with a bit mask of its properties, the values are stored in a flat array with
+ * {@link ViewProperties#COUNT} slots per View.
+ */
+final class PropertySnapshot {
+    private View[] mViews = new View[4];
+    private int[] mMasks = new int[4];
+    private float[] mValues;
+    private int mSize;
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in {@link ViewProperties}
+     */
+    void add(@NonNull View view, int property) {
+        int index = -1;
+        final View[] views = mViews;
+        final int size = mSize;
+        for (int i = 0; i < size; i++) {
+            if (views[i] == view) {
+                index = i;
+                break;
+            }
+        }
+        if (index == -1) {
+            if (size == views.length) {
+                mViews = new View[size * 2];
+                System.arraycopy(views, 0, mViews, 0, size);
+                int[] masks = new int[size * 2];
+                System.arraycopy(mMasks, 0, masks, 0, size);
+                mMasks = masks;
+            }
+            index = mSize++;
+            mViews[index] = view;
+            mMasks[index] = 0;
+            mValues = null;
+        }
+        mMasks[index] |= 1 << property;
+    }
+
+    /**
+     * Reads the current value of every property
+     */
+    void capture() {
+        if (mValues == null) {
+            mValues = new float[mSize * ViewProperties.COUNT];
+        }
+        final View[] views = mViews;
+        final float[] values = mValues;
+        int mask;
+        View view;
+        final int size = mSize;
+        for (int i = 0; i < size; i++) {
+            view = views[i];
+            mask = mMasks[i];
+            for (int j = 0; mask != 0; j++, mask >>>= 1) {
+                if ((mask & 1) != 0) {
+                    values[i * ViewProperties.COUNT + j] = ViewProperties.get(view, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes back the values read by the last {@link #capture()}
+     */
+    void restore() {
+        final View[] views = mViews;
+        final float[] values = mValues;
+        int mask;
+        View view;
+        final int size = mSize;
+        for (int i = 0; i < size; i++) {
+            view = views[i];
+            mask = mMasks[i];
+            for (int j = 0; mask != 0; j++, mask >>>= 1) {
+                if ((mask & 1) != 0) {
+                    ViewProperties.set(view, j, values[i * ViewProperties.COUNT + j]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.FloatRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import com.kaichunlin.transition.TransitionConfig;
+
+import java.util.List;
+
+/**
+ * Transits the properties defined in {@link ViewProperties} without going through NineOldAndroids' animator framework:
+ * the values are precompiled into {@link KeyframeTrack} and written straight to the target View through its typed setters,
+ * so no allocation is performed when {@link #updateProgress(float)} is called.
+ * <p>
+ * Produces the same result as {@link DefaultTransitionController} wrapping an ObjectAnimator with the same values,
+ * properties not supported by {@link ViewProperties} should still use {@link DefaultTransitionController}.
+ */
+public class PropertyTransitionController extends TransitionController<PropertyTransitionController> implements Cloneable {
+    /**
+     * Same as ValueAnimator's default Interpolator
+     */
+    static final Interpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    private final int[] mProperties;
+    private KeyframeTrack[] mTracks;
+    private float mStartOffset;
+    private float mLastPosition;
+
+    /**
+     * @param target     the View that should be transitioned
+     * @param properties the properties to transit, see {@link ViewProperties}
+     * @param tracks     keyframes for each of the properties, each track must contain at least 2 keyframes
+     */
+    public PropertyTransitionController(@Nullable View target, @NonNull int[] properties, @NonNull KeyframeTrack[] tracks) {
+        super(target);
+        if (properties.length != tracks.length) {
+            throw new IllegalArgumentException("Number of properties and tracks does not match: " + properties.length + " vs " + tracks.length);
+        }
+        for (int i = 0; i < tracks.length; i++) {
+            if (tracks[i].size() < 2) {
+                throw new IllegalArgumentException("At least 2 keyframes are required: " + properties[i]);
+            }
+        }
+        mProperties = properties;
+        mTracks = KeyframeTrack.copyOf(tracks);
+        updateProgressWidth();
+    }
+
+    /**
+     * Delays the transition until the specified fraction of the range has been reached, equivalent to setting
+     * the start delay of an Animator
+     *
+     * @param startOffset
+     * @return
+     */
+    public PropertyTransitionController setStartOffset(@FloatRange(from = 0.0, to = 1.0) float startOffset) {
+        mStartOffset = startOffset;
+        return self();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (TransitionConfig.isDebug()) {
+            getTransitionStateHolder().clear();
+        }
+    }
+
+    @Override
+    void rewind() {
+        super.rewind();
+        mLastPosition = -1;
+    }
+
+    @Override
+    public void updateProgress(float progress) {
+        final float fraction = computeFraction(computeTime(progress));
+        if (Float.isNaN(fraction)) {
+            return;
+        }
+
+        final View target = mTarget;
+        final int size = mProperties.length;
+        for (int i = 0; i < size; i++) {
+            ViewProperties.set(target, mProperties[i], mTracks[i].getFloatValue(fraction));
+        }
+    }
+
+    /**
+     * @param progress
+     * @return the position within the whole range, where 0 is the start and 1 is the end
+     */
+    final float computeTime(float progress) {
+        return computePosition(progress, mStartOffset);
+    }
+
+    /**
+     * @param time as returned by {@link #computeTime(float)}
+     * @return the interpolated fraction the tracks should be evaluated at, or NaN if nothing should be written
+     */
+    final float computeFraction(float time) {
+        if ((time == mLastPosition || (!mStarted && !mSetup)) && mUpdateCount != -1) {
+            return Float.NaN;
+        }
+
+        if (TransitionConfig.isDebug()) {
+            appendLog("updateState: \t\ttime=" + time);
+        }
+
+        mSetup = false;
+        mLastPosition = time;
+        //same as an Animator that has yet to reach its start delay
+        if (time < 0) {
+            return Float.NaN;
+        }
+
+        float fraction = time / (1 - mStartOffset);
+        if (fraction > 1) {
+            fraction = 1;
+        }
+        return (mInterpolator == null ? DEFAULT_INTERPOLATOR : mInterpolator).getInterpolation(fraction);
+    }
+
+    /**
+     * @return true if any of the properties benefits from a hardware layer
+     */
+    boolean hasLayerFriendlyProperty() {
+        final int size = mProperties.length;
+        for (int i = 0; i < size; i++) {
+            if (ViewProperties.isLayerFriendly(mProperties[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    void addLayerViews(@NonNull List<View> views) {
+        if (mTarget != null && hasLayerFriendlyProperty() && !views.contains(mTarget)) {
+            views.add(mTarget);
+        }
+    }
+
+    @Override
+    boolean addToSnapshot(@NonNull PropertySnapshot snapshot) {
+        if (mTarget == null) {
+            return false;
+        }
+        final int size = mProperties.length;
+        for (int i = 0; i < size; i++) {
+            snapshot.add(mTarget, mProperties[i]);
+        }
+        return true;
+    }
+
+    int[] getProperties() {
+        return mProperties;
+    }
+
+    KeyframeTrack[] getTracks() {
+        return mTracks;
+    }
+
+    @Override
+    boolean isRangeBound() {
+        return true;
+    }
+
+    @CheckResult
+    @Override
+    public PropertyTransitionController clone() {
+        PropertyTransitionController newCopy = (PropertyTransitionController) super.clone();
+        newCopy.mTracks = KeyframeTrack.copyOf(mTracks);
+        return newCopy;
+    }
+
+    protected PropertyTransitionController self() {
+        return this;
+    }
+}
@@ -7,8 +7,11 @@ import android.view.View;
 import android.view.animation.Interpolator;
 
 import com.kaichunlin.transition.R;
+import com.kaichunlin.transition.TransitionConfig;
 import com.kaichunlin.transition.util.TransitionStateLogger;
 
+import java.util.List;
+
 /**
  * Created by Kai-Chun Lin on 2015/4/28.
  */
@@ -26,6 +29,8 @@ public abstract class TransitionController<T extends TransitionController> {
     long mDuration;
     long mTotalDuration;
     long mLastTime;
+    //number of updates within the range, -1 once the range is passed right after being entered a single time
+    int mUpdateCount;
     boolean mSetup;
     Interpolator mInterpolator;
     boolean mUpdateStateAfterUpdateProgress;
@@ -54,6 +59,14 @@ public abstract class TransitionController<T extends TransitionController> {
      * Starts the transition
      */
     public void start() {
+        rewind();
+    }
+
+    /**
+     * Forgets the last update, so the next {@link #updateProgress(float)} writes the state of the target even if the
+     * progress has not changed
+     */
+    void rewind() {
         mLastTime = -1;
         mSetup = true;
     }
@@ -70,6 +83,82 @@ public abstract class TransitionController<T extends TransitionController> {
         mStarted = false;
     }
 
+    /**
+     * Maps progress to the position within the range of this controller, and marks the controller as started once the
+     * position passes the start offset
+     *
+     * @param progress
+     * @param startOffset fraction of the range to wait before the transition starts, only subtracted while progress is
+     *                    within the range
+     * @return the position within the range minus startOffset, where 0 is the start and 1 is the end, 0 before the range
+     * is entered and 1 after it is passed
+     */
+    final float computePosition(float progress, float startOffset) {
+        String debug = "";
+        final boolean DEBUG = TransitionConfig.isDebug();
+
+        float position = 0;
+        if (mStart < mEnd && progress >= mStart && progress <= mEnd || mStart > mEnd && progress >= mEnd && progress <= mStart) {
+            //forward
+            if (mStart < mEnd) {
+                position = (progress - mStart) / mProgressWidth;
+                //backward
+            } else {
+                position = 1 - (progress - mEnd) / mProgressWidth;
+            }
+            position -= startOffset;
+
+            if (position > 0) {
+                mStarted = true;
+            }
+            if (DEBUG) {
+                debug = (mStart < mEnd ? "forward" : "backward") + " progression: [" + mStart + ".." + mEnd + "], mStarted=" + mStarted;
+            }
+            mUpdateCount++;
+        } else {
+            //forward
+            if (mStart < mEnd) {
+                if (progress < mStart) {
+                    if (DEBUG) {
+                        debug = "forward progression: [" + mStart + ".." + mEnd + "], pre-start, progress=" + progress;
+                    }
+                } else if (progress > mEnd) {
+                    position = 1;
+                    if (mUpdateCount == 1) {
+                        mUpdateCount = -1;
+                    }
+                    if (DEBUG) {
+                        debug = "forward progression: [" + mStart + ".." + mEnd + "], post-finish, progress=" + progress;
+                    }
+                }
+                //backward
+            } else if (mStart > mEnd) {
+                if (progress > mStart) {
+                    if (DEBUG) {
+                        debug = "backward progression: [" + mStart + ".." + mEnd + "], pre-start, progress=" + progress;
+                    }
+                } else if (progress < mEnd) {
+                    position = 1;
+                    if (mUpdateCount == 1) {
+                        mUpdateCount = -1;
+                    }
+                    if (DEBUG) {
+                        debug = "backward progression: [" + mStart + ".." + mEnd + "], post-finish, progress=" + progress;
+                    }
+                }
+            }
+        }
+
+        if (DEBUG) {
+            appendLog("updateProgress: \t" + debug);
+        }
+        return position;
+    }
+
+    void appendLog(String msg) {
+        getTransitionStateHolder().append(getId() + "->View" + mTarget.hashCode(), this, msg);
+    }
+
     protected void updateProgressWidth() {
         mProgressWidth = Math.abs(mEnd - mStart);
     }
@@ -186,6 +275,37 @@ public abstract class TransitionController<T extends TransitionController> {
         return mEnable;
     }
 
+    /**
+     * @return true if the controller has nothing to do while progress stays outside of its range, except for the first
+     * update after {@link #start()}, in which case {@link TransitionControllerManager} only updates it when its range
+     * is entered or crossed
+     */
+    boolean isRangeBound() {
+        return false;
+    }
+
+    /**
+     * @return false if the controller writes to Views derived from its target when it was created, e.g. the children
+     * of a ViewGroup, so it cannot follow a new target set by {@link TransitionControllerManager#setTarget(View)}
+     */
+    boolean isRetargetable() {
+        return true;
+    }
+
+    /**
+     * @param snapshot receives the Views and properties this controller writes to
+     * @return false if the controller may write values that cannot be captured by a {@link PropertySnapshot}
+     */
+    boolean addToSnapshot(@NonNull PropertySnapshot snapshot) {
+        return false;
+    }
+
+    /**
+     * @param views receives the Views this controller transits alpha, rotation or scale on, each View is only added once
+     */
+    void addLayerViews(@NonNull List<View> views) {
+    }
+
     public TransitionStateLogger getTransitionStateHolder() {
         TransitionStateLogger logger=(TransitionStateLogger) getTarget().getTag(R.id.debug_id);
         if(logger==null) {
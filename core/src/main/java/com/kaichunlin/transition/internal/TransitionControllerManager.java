@@ -23,11 +23,29 @@ import java.util.List;
  */
 public class TransitionControllerManager implements Cloneable {
     private List<TransitionController> mTransitionControls = new ArrayList<>();
+    //the controllers actually updated by updateProgress(), PropertyTransitionController targeting the same View are fused
+    private List<TransitionController> mActiveControls;
+    //built by start() so updateProgress() only touches the controllers whose range was entered or crossed
+    private ControllerIntervalIndex mIntervalIndex;
     private Interpolator mInterpolator;
     private String mId;
     private View mTarget;
     float mLastProgress;
     private boolean mUpdateStateAfterUpdateProgress;
+    private boolean mHardwareLayerEnabled = true;
+    //Views switched to a hardware layer by start(), released by end()
+    private List<View> mLayerViews = new ArrayList<>();
+    //values of the properties written by the controllers, captured by the first updateProgress() after start()
+    private PropertySnapshot mSnapshot;
+    //false if any of the controllers writes values that cannot be captured
+    private boolean mSnapshotComplete;
+    private boolean mSnapshotCaptured;
+    //true from start() until the first updateProgress()
+    private boolean mSnapshotPending;
+    //true between start() and end()
+    private boolean mStarted;
+    //whether the controllers have been configured since they, the target or the interpolator last changed
+    private boolean mPrepared;
 
     public TransitionControllerManager(String id) {
         mId = id;
@@ -88,6 +106,11 @@ public class TransitionControllerManager implements Cloneable {
         boolean changed = false;
         if (!mTransitionControls.contains(transitionController)) {
             mTransitionControls.add(transitionController);
+            mActiveControls = null;
+            mIntervalIndex = null;
+            mSnapshot = null;
+            mSnapshotCaptured = false;
+            mPrepared = false;
             changed = true;
         }
         if (!changed && TransitionConfig.isDebug()) {
@@ -105,7 +128,21 @@ public class TransitionControllerManager implements Cloneable {
         }
 
         mLastProgress = Float.MIN_VALUE;
+        prepareControllers();
+        mSnapshotCaptured = false;
+        mSnapshotPending = true;
+        if (mHardwareLayerEnabled) {
+            acquireHardwareLayers();
+        }
+        //the ViewPager hack changes which controllers are enabled depending on progress
+        mIntervalIndex = mUpdateStateAfterUpdateProgress ? null : new ControllerIntervalIndex(mActiveControls);
+        mStarted = true;
+    }
 
+    /**
+     * Configures and starts the controllers, and fuses them if needed
+     */
+    private void prepareControllers() {
         final int size = mTransitionControls.size();
         TransitionController transitionController;
         for (int i = 0; i < size; i++) {
@@ -120,6 +157,189 @@ public class TransitionControllerManager implements Cloneable {
             transitionController.setUpdateStateAfterUpdateProgress(mUpdateStateAfterUpdateProgress);
             transitionController.start();
         }
+
+        if (mActiveControls == null) {
+            mActiveControls = fuseTransitionControllers();
+        }
+        final int activeSize = mActiveControls.size();
+        for (int i = 0; i < activeSize; i++) {
+            transitionController = mActiveControls.get(i);
+            if (transitionController instanceof FusedTransitionController) {
+                transitionController.start();
+            }
+        }
+        mPrepared = true;
+    }
+
+    /**
+     * Sets the progress while the transition is not running, e.g. to restore a saved state: every controller is
+     * evaluated once at the given progress, skipping the work of {@link #start()} and {@link #end()} such as acquiring
+     * hardware layers; the controllers are only configured again after they, the target or the interpolator change.
+     * <p>
+     * Same as {@link #updateProgress(float)} while the transition is running.
+     *
+     * @param progress
+     */
+    public void seek(float progress) {
+        if (mStarted) {
+            updateProgress(progress);
+            return;
+        }
+        TransitionController transitionController;
+        if (mPrepared) {
+            final int size = mTransitionControls.size();
+            for (int i = 0; i < size; i++) {
+                mTransitionControls.get(i).rewind();
+            }
+            final int activeSize = mActiveControls.size();
+            for (int i = 0; i < activeSize; i++) {
+                transitionController = mActiveControls.get(i);
+                if (transitionController instanceof FusedTransitionController) {
+                    transitionController.rewind();
+                }
+            }
+        } else {
+            prepareControllers();
+        }
+
+        mLastProgress = progress;
+        updateEnableState(progress);
+        final int activeSize = mActiveControls.size();
+        for (int i = 0; i < activeSize; i++) {
+            transitionController = mActiveControls.get(i);
+            if (transitionController.isEnable()) {
+                transitionController.updateProgress(progress);
+            }
+        }
+        final int size = mTransitionControls.size();
+        for (int i = 0; i < size; i++) {
+            mTransitionControls.get(i).end();
+        }
+    }
+
+    /**
+     * Captures the values of the properties written by the controllers, i.e. their state at the progress the transition
+     * has been started at; the Views and properties are only collected when the controllers or the target change
+     */
+    private void captureSnapshot() {
+        if (mSnapshot == null) {
+            mSnapshot = new PropertySnapshot();
+            mSnapshotComplete = true;
+            final int size = mTransitionControls.size();
+            for (int i = 0; i < size; i++) {
+                if (!mTransitionControls.get(i).addToSnapshot(mSnapshot)) {
+                    mSnapshotComplete = false;
+                    break;
+                }
+            }
+        }
+        mSnapshotCaptured = mSnapshotComplete;
+        if (mSnapshotComplete) {
+            mSnapshot.capture();
+        }
+    }
+
+    /**
+     * Writes back the property values captured by the first {@link #updateProgress(float)} after the last
+     * {@link #start()}, putting the Views back to their state at the progress the transition was started at without
+     * updating the controllers
+     *
+     * @return false if nothing was written, because the progress has not been updated since the transition was started
+     * or since the controllers or the target changed, or because a controller writes values that cannot be captured,
+     * e.g. a {@link DefaultTransitionController}
+     */
+    public boolean restoreSnapshot() {
+        if (!mSnapshotCaptured) {
+            return false;
+        }
+        mSnapshot.restore();
+        mLastProgress = Float.MIN_VALUE;
+        return true;
+    }
+
+    /**
+     * Fuses the {@link PropertyTransitionController} targeting the same View into a
+     * {@link FusedTransitionController}, a controller that cannot be fused closes every group so the controllers placed
+     * after it are still updated after it
+     *
+     * @return the list of controllers to be updated
+     */
+    private List<TransitionController> fuseTransitionControllers() {
+        List<TransitionController> activeList = new ArrayList<>();
+        //the ViewPager hack enables/disables each controller separately, and debug messages are logged per controller
+        if (mUpdateStateAfterUpdateProgress || TransitionConfig.isDebug()) {
+            activeList.addAll(mTransitionControls);
+            return activeList;
+        }
+
+        List<FusedTransitionController> openList = new ArrayList<>();
+        final int size = mTransitionControls.size();
+        TransitionController transitionController;
+        PropertyTransitionController propertyController;
+        FusedTransitionController fused;
+        for (int i = 0; i < size; i++) {
+            transitionController = mTransitionControls.get(i);
+            if (transitionController instanceof PropertyTransitionController && transitionController.getTarget() != null) {
+                propertyController = (PropertyTransitionController) transitionController;
+                fused = null;
+                final int openSize = openList.size();
+                for (int j = 0; j < openSize; j++) {
+                    if (openList.get(j).getTarget() == propertyController.getTarget()) {
+                        fused = openList.get(j);
+                        break;
+                    }
+                }
+                if (fused == null) {
+                    fused = new FusedTransitionController(propertyController.getTarget());
+                    fused.setId(mId);
+                    openList.add(fused);
+                    activeList.add(fused);
+                }
+                fused.fuse(propertyController);
+            } else {
+                //the controller may write any property, so it must be updated after the tracks already fused and
+                //before the tracks placed after it
+                openList.clear();
+                activeList.add(transitionController);
+            }
+        }
+
+        //no need to fuse a single controller
+        final int activeSize = activeList.size();
+        for (int i = 0; i < activeSize; i++) {
+            transitionController = activeList.get(i);
+            if (transitionController instanceof FusedTransitionController && ((FusedTransitionController) transitionController).getMemberCount() == 1) {
+                activeList.set(i, ((FusedTransitionController) transitionController).getMember(0));
+            }
+        }
+        return activeList;
+    }
+
+    /**
+     * Switches the Views transited on alpha, rotation or scale to a hardware layer, including the children transited by
+     * a {@link ViewGroupTransitionController} and the targets of the ObjectAnimator fallback, does nothing if the layers
+     * are already held
+     */
+    private void acquireHardwareLayers() {
+        if (!mLayerViews.isEmpty()) {
+            return;
+        }
+        final int size = mTransitionControls.size();
+        for (int i = 0; i < size; i++) {
+            mTransitionControls.get(i).addLayerViews(mLayerViews);
+        }
+        final int layerCount = mLayerViews.size();
+        for (int i = 0; i < layerCount; i++) {
+            HardwareLayers.acquire(mLayerViews.get(i));
+        }
+    }
+
+    private void releaseHardwareLayers() {
+        final int size = mLayerViews.size();
+        for (int i = 0; i < size; i++) {
+            HardwareLayers.release(mLayerViews.get(i));
+        }
+        mLayerViews.clear();
     }
 
     private TransitionStateLogger getTransitionStateHolder() {
@@ -143,6 +363,9 @@ public class TransitionControllerManager implements Cloneable {
         for (int i = 0; i < size; i++) {
             mTransitionControls.get(i).end();
         }
+        releaseHardwareLayers();
+        mSnapshotPending = false;
+        mStarted = false;
     }
 
     /**
@@ -155,35 +378,57 @@ public class TransitionControllerManager implements Cloneable {
             return;
         }
         mLastProgress = progress;
-        //TODO this makes ViewPager work, but will probably break more complex transition setup, will think of a better solution
-        if (mUpdateStateAfterUpdateProgress) {
-            boolean positive = progress >= 0;
-            final int size = mTransitionControls.size();
-            TransitionController transitionController;
+        updateEnableState(progress);
+
+        TransitionController transitionController;
+        if (mIntervalIndex != null) {
+            final int count = mIntervalIndex.query(progress);
+            final int[] indexes = mIntervalIndex.getResult();
+            for (int i = 0; i < count; i++) {
+                transitionController = mActiveControls.get(indexes[i]);
+                if (transitionController.isEnable()) {
+                    transitionController.updateProgress(progress);
+                }
+            }
+        } else {
+            final List<TransitionController> activeControls = mActiveControls == null ? mTransitionControls : mActiveControls;
+            final int size = activeControls.size();
             for (int i = 0; i < size; i++) {
-                transitionController = mTransitionControls.get(i);
-                if (positive) {
-                    if (transitionController.getEnd() > 0) {
-                        transitionController.setEnable(true);
-                    } else {
-                        transitionController.setEnable(false);
-                    }
-                } else {
-                    if (transitionController.getEnd() < 0) {
-                        transitionController.setEnable(true);
-                    } else {
-                        transitionController.setEnable(false);
-                    }
+                transitionController = activeControls.get(i);
+                if (transitionController.isEnable()) {
+                    transitionController.updateProgress(progress);
                 }
             }
         }
 
+        if (mSnapshotPending) {
+            mSnapshotPending = false;
+            captureSnapshot();
+        }
+    }
+
+    private void updateEnableState(float progress) {
+        //TODO this makes ViewPager work, but will probably break more complex transition setup, will think of a better solution
+        if (!mUpdateStateAfterUpdateProgress) {
+            return;
+        }
+        boolean positive = progress >= 0;
         final int size = mTransitionControls.size();
         TransitionController transitionController;
         for (int i = 0; i < size; i++) {
             transitionController = mTransitionControls.get(i);
-            if (transitionController.isEnable()) {
-                transitionController.updateProgress(progress);
+            if (positive) {
+                if (transitionController.getEnd() > 0) {
+                    transitionController.setEnable(true);
+                } else {
+                    transitionController.setEnable(false);
+                }
+            } else {
+                if (transitionController.getEnd() < 0) {
+                    transitionController.setEnable(true);
+                } else {
+                    transitionController.setEnable(false);
+                }
             }
         }
     }
@@ -193,12 +438,67 @@ public class TransitionControllerManager implements Cloneable {
      */
     public void setTarget(@Nullable View target) {
         mTarget = target;
+        mActiveControls = null;
+        mIntervalIndex = null;
+        mSnapshot = null;
+        mSnapshotCaptured = false;
+        mPrepared = false;
         final int size = mTransitionControls.size();
         for (int i = 0; i < size; i++) {
             mTransitionControls.get(i).setTarget(target);
         }
     }
 
+    /**
+     * @return the lowest progress at which a controller may modify its target, {@link Float#NEGATIVE_INFINITY} if a
+     * controller is not bound to its range, e.g. a {@link CustomTransitionController}
+     */
+    public float getMinProgress() {
+        float min = Float.POSITIVE_INFINITY;
+        TransitionController transitionController;
+        final int size = mTransitionControls.size();
+        for (int i = 0; i < size; i++) {
+            transitionController = mTransitionControls.get(i);
+            if (!transitionController.isRangeBound()) {
+                return Float.NEGATIVE_INFINITY;
+            }
+            min = Math.min(min, Math.min(transitionController.getStart(), transitionController.getEnd()));
+        }
+        return min;
+    }
+
+    /**
+     * @return the highest progress at which a controller may modify its target, {@link Float#POSITIVE_INFINITY} if a
+     * controller is not bound to its range, e.g. a {@link CustomTransitionController}
+     */
+    public float getMaxProgress() {
+        float max = Float.NEGATIVE_INFINITY;
+        TransitionController transitionController;
+        final int size = mTransitionControls.size();
+        for (int i = 0; i < size; i++) {
+            transitionController = mTransitionControls.get(i);
+            if (!transitionController.isRangeBound()) {
+                return Float.POSITIVE_INFINITY;
+            }
+            max = Math.max(max, Math.max(transitionController.getStart(), transitionController.getEnd()));
+        }
+        return max;
+    }
+
+    /**
+     * @return true if all the controllers follow the target set by {@link #setTarget(View)}, so the same controllers
+     * can be reused for another View
+     */
+    public boolean isRetargetable() {
+        final int size = mTransitionControls.size();
+        for (int i = 0; i < size; i++) {
+            if (!mTransitionControls.get(i).isRetargetable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return
      */
@@ -211,6 +511,7 @@ public class TransitionControllerManager implements Cloneable {
      * Reverses all the TransitionControllers managed by this TransitionManager
      */
     public void reverse() {
+        mPrepared = false;
         final int size = mTransitionControls.size();
         for (int i = 0; i < size; i++) {
             mTransitionControls.get(i).reverse();
@@ -222,6 +523,15 @@ public class TransitionControllerManager implements Cloneable {
      */
     public void setInterpolator(@Nullable Interpolator interpolator) {
         mInterpolator = interpolator;
+        mPrepared = false;
+    }
+
+    /**
+     * @param hardwareLayerEnabled whether or not targets transiting alpha, rotation or scale are switched to a hardware
+     *                             layer between {@link #start()} and {@link #end()}, enabled by default
+     */
+    public void setHardwareLayerEnabled(boolean hardwareLayerEnabled) {
+        mHardwareLayerEnabled = hardwareLayerEnabled;
     }
 
     /**
@@ -229,6 +539,9 @@ public class TransitionControllerManager implements Cloneable {
      */
     public void setUpdateStateAfterUpdateProgress(boolean updateStateAfterUpdateProgress) {
         mUpdateStateAfterUpdateProgress = updateStateAfterUpdateProgress;
+        mActiveControls = null;
+        mIntervalIndex = null;
+        mPrepared = false;
     }
 
     @CheckResult
@@ -238,6 +551,13 @@ public class TransitionControllerManager implements Cloneable {
         try {
             newClone = (TransitionControllerManager) super.clone();
             newClone.mTransitionControls = new ArrayList<>();
+            newClone.mActiveControls = null;
+            newClone.mIntervalIndex = null;
+            newClone.mLayerViews = new ArrayList<>();
+            newClone.mSnapshot = null;
+            newClone.mSnapshotCaptured = false;
+            newClone.mStarted = false;
+            newClone.mPrepared = false;
             final int size = mTransitionControls.size();
             for (int i = 0; i < size; i++) {
                 newClone.mTransitionControls.add(mTransitionControls.get(i).clone());
@@ -0,0 +1,184 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.Interpolator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Transits the same {@link ViewProperties} of every child of a ViewGroup, each child within its own range, e.g. to
+ * create a cascading effect.
+ * <p>
+ * All children share the same {@link KeyframeTrack}, their ranges are kept in parallel arrays and evaluated in a single
+ * loop; a child is only written when its position within its range has changed, so children that have yet to start or
+ * have already finished cost a comparison per update.
+ */
+public class ViewGroupTransitionController extends TransitionController<ViewGroupTransitionController> implements Cloneable {
+    private final View[] mChildren;
+    private float[] mChildStarts;
+    private float[] mChildEnds;
+    private final int[] mProperties;
+    private KeyframeTrack[] mTracks;
+    //last position of each child within its range, NaN if the child has not been written since start()
+    private float[] mLastTimes;
+
+    /**
+     * @param target      the ViewGroup the children belong to
+     * @param children    the children that should be transitioned
+     * @param childStarts start of the range of each child
+     * @param childEnds   end of the range of each child
+     * @param properties  the properties to transit, see {@link ViewProperties}
+     * @param tracks      keyframes for each of the properties shared by all children, each track must contain at least 2 keyframes
+     */
+    public ViewGroupTransitionController(@NonNull ViewGroup target, @NonNull View[] children, @NonNull float[] childStarts,
+                                         @NonNull float[] childEnds, @NonNull int[] properties, @NonNull KeyframeTrack[] tracks) {
+        super(target);
+        if (children.length != childStarts.length || children.length != childEnds.length) {
+            throw new IllegalArgumentException("Number of children and ranges does not match: " + children.length + " vs " + childStarts.length + "/" + childEnds.length);
+        }
+        if (properties.length != tracks.length) {
+            throw new IllegalArgumentException("Number of properties and tracks does not match: " + properties.length + " vs " + tracks.length);
+        }
+        for (int i = 0; i < tracks.length; i++) {
+            if (tracks[i].size() < 2) {
+                throw new IllegalArgumentException("At least 2 keyframes are required: " + properties[i]);
+            }
+        }
+        mChildren = children;
+        mChildStarts = childStarts;
+        mChildEnds = childEnds;
+        mProperties = properties;
+        mTracks = KeyframeTrack.copyOf(tracks);
+        mLastTimes = new float[children.length];
+
+        //the range covers the ranges of all children
+        float min = children.length == 0 ? DEFAULT_START : Float.MAX_VALUE;
+        float max = children.length == 0 ? DEFAULT_END : -Float.MAX_VALUE;
+        final int size = children.length;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, Math.min(childStarts[i], childEnds[i]));
+            max = Math.max(max, Math.max(childStarts[i], childEnds[i]));
+        }
+        setRange(min, max);
+    }
+
+    @Override
+    void rewind() {
+        super.rewind();
+        Arrays.fill(mLastTimes, Float.NaN);
+    }
+
+    @Override
+    protected void updateProgress(float progress) {
+        final View[] children = mChildren;
+        final float[] childStarts = mChildStarts;
+        final float[] childEnds = mChildEnds;
+        final float[] lastTimes = mLastTimes;
+        final int[] properties = mProperties;
+        final KeyframeTrack[] tracks = mTracks;
+        final int propertyCount = properties.length;
+        final Interpolator interpolator = mInterpolator == null ? PropertyTransitionController.DEFAULT_INTERPOLATOR : mInterpolator;
+        float start;
+        float end;
+        float time;
+        float fraction;
+        View child;
+        final int size = children.length;
+        for (int i = 0; i < size; i++) {
+            start = childStarts[i];
+            end = childEnds[i];
+            //position within the range of the child, where 0 is the start and 1 is the end, also valid for reversed ranges
+            if (start == end) {
+                time = progress < start ? 0 : 1;
+            } else {
+                time = (progress - start) / (end - start);
+                if (time < 0) {
+                    time = 0;
+                } else if (time > 1) {
+                    time = 1;
+                }
+            }
+            if (time == lastTimes[i]) {
+                continue;
+            }
+            lastTimes[i] = time;
+
+            fraction = interpolator.getInterpolation(time);
+            child = children[i];
+            for (int j = 0; j < propertyCount; j++) {
+                ViewProperties.set(child, properties[j], tracks[j].getFloatValue(fraction));
+            }
+        }
+    }
+
+    @Override
+    boolean isRetargetable() {
+        return false;
+    }
+
+    @Override
+    void addLayerViews(@NonNull List<View> views) {
+        final int[] properties = mProperties;
+        final int propertyCount = properties.length;
+        boolean layerFriendly = false;
+        for (int i = 0; i < propertyCount && !layerFriendly; i++) {
+            layerFriendly = ViewProperties.isLayerFriendly(properties[i]);
+        }
+        if (!layerFriendly) {
+            return;
+        }
+        final View[] children = mChildren;
+        final int size = children.length;
+        for (int i = 0; i < size; i++) {
+            if (!views.contains(children[i])) {
+                views.add(children[i]);
+            }
+        }
+    }
+
+    @Override
+    boolean addToSnapshot(@NonNull PropertySnapshot snapshot) {
+        final View[] children = mChildren;
+        final int[] properties = mProperties;
+        final int propertyCount = properties.length;
+        final int size = children.length;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < propertyCount; j++) {
+                snapshot.add(children[i], properties[j]);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ViewGroupTransitionController reverse() {
+        super.reverse();
+        float[] starts = mChildStarts;
+        mChildStarts = mChildEnds;
+        mChildEnds = starts;
+        return self();
+    }
+
+    @Override
+    boolean isRangeBound() {
+        return true;
+    }
+
+    @CheckResult
+    @Override
+    public ViewGroupTransitionController clone() {
+        ViewGroupTransitionController newCopy = (ViewGroupTransitionController) super.clone();
+        newCopy.mTracks = KeyframeTrack.copyOf(mTracks);
+        newCopy.mLastTimes = new float[mLastTimes.length];
+        return newCopy;
+    }
+
+    @Override
+    protected ViewGroupTransitionController self() {
+        return this;
+    }
+}
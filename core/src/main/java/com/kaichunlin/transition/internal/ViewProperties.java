@@ -0,0 +1,114 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Typed access to the View properties supported by {@link PropertyTransitionController}, properties are identified by
+ * an int so they can be written without resolving a setter by name.
+ */
+public final class ViewProperties {
+    public static final int INVALID = -1;
+    public static final int ALPHA = 0;
+    public static final int ROTATION = 1;
+    public static final int ROTATION_X = 2;
+    public static final int ROTATION_Y = 3;
+    public static final int SCALE_X = 4;
+    public static final int SCALE_Y = 5;
+    public static final int TRANSLATION_X = 6;
+    public static final int TRANSLATION_Y = 7;
+    public static final int X = 8;
+    public static final int Y = 9;
+    public static final int COUNT = 10;
+
+    private static PropertyBackend sBackend = PlatformPropertyBackend.INSTANCE;
+    //true while sBackend is the PlatformPropertyBackend, which is then called statically
+    private static boolean sPlatformBackend = true;
+
+    private ViewProperties() {
+    }
+
+    /**
+     * @param name property name as used by ObjectAnimator, e.g. "alpha"
+     * @return the matching property, or {@link #INVALID} if the property is not supported
+     */
+    public static int indexOf(@NonNull String name) {
+        switch (name) {
+            case "alpha":
+                return ALPHA;
+            case "rotation":
+                return ROTATION;
+            case "rotationX":
+                return ROTATION_X;
+            case "rotationY":
+                return ROTATION_Y;
+            case "scaleX":
+                return SCALE_X;
+            case "scaleY":
+                return SCALE_Y;
+            case "translationX":
+                return TRANSLATION_X;
+            case "translationY":
+                return TRANSLATION_Y;
+            case "x":
+                return X;
+            case "y":
+                return Y;
+            default:
+                return INVALID;
+        }
+    }
+
+    /**
+     * @param property one of the property constants defined in this class
+     * @return true if animating the property on a hardware layer avoids redrawing the View, i.e. alpha, rotation and scale
+     */
+    public static boolean isLayerFriendly(int property) {
+        switch (property) {
+            case ALPHA:
+            case ROTATION:
+            case ROTATION_X:
+            case ROTATION_Y:
+            case SCALE_X:
+            case SCALE_Y:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param backend the {@link PropertyBackend} used to read and write properties, defaults to {@link PlatformPropertyBackend}
+     */
+    public static void setBackend(@NonNull PropertyBackend backend) {
+        sBackend = backend;
+        sPlatformBackend = backend == PlatformPropertyBackend.INSTANCE;
+    }
+
+    @NonNull
+    public static PropertyBackend getBackend() {
+        return sBackend;
+    }
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in this class
+     * @param value
+     */
+    public static void set(@NonNull View view, int property, float value) {
+        if (sPlatformBackend) {
+            PlatformPropertyBackend.setValue(view, property, value);
+        } else {
+            sBackend.set(view, property, value);
+        }
+    }
+
+    /**
+     * @param view
+     * @param property one of the property constants defined in this class
+     * @return the current value of the property
+     */
+    public static float get(@NonNull View view, int property) {
+        return sPlatformBackend ? PlatformPropertyBackend.getValue(view, property) : sBackend.get(view, property);
+    }
+}
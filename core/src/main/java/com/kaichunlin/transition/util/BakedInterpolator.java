@@ -0,0 +1,127 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An {@link Interpolator} that samples another Interpolator into a fixed-size lookup table, values between samples
+ * are linearly interpolated. Curves doing trigonometry or path math (AnticipateInterpolator, PathInterpolator...) are
+ * then evaluated with a table lookup.
+ * <p>
+ * Baked instances are cached process-wide by the class of the source Interpolator and its sampled curve, identical
+ * curves share a single table, and a BakedInterpolator returned by {@link #bake(Interpolator)} while still cached can be
+ * compared by identity. The cache keeps the {@link #CACHE_SIZE} most recently baked curves.
+ */
+public final class BakedInterpolator implements Interpolator {
+    /**
+     * Number of intervals in the lookup table
+     */
+    public static final int INTERVAL_COUNT = 256;
+    /**
+     * Maximum number of cached curves, the least recently baked curve is evicted first
+     */
+    public static final int CACHE_SIZE = 32;
+    private static final Map<Key, BakedInterpolator> sCache = new LinkedHashMap<Key, BakedInterpolator>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BakedInterpolator> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final Interpolator mSource;
+    private final float[] mTable;
+
+    private BakedInterpolator(@NonNull Interpolator source, @NonNull float[] table) {
+        mSource = source;
+        mTable = table;
+    }
+
+    /**
+     * Returns the cached BakedInterpolator of the supplied Interpolator, creating it if needed.
+     *
+     * @param interpolator
+     * @return the baked Interpolator, or the supplied one when baking would not speed it up (null, LinearInterpolator
+     * or an already baked Interpolator)
+     */
+    public static Interpolator bake(@Nullable Interpolator interpolator) {
+        if (interpolator == null || interpolator instanceof BakedInterpolator || interpolator instanceof LinearInterpolator) {
+            return interpolator;
+        }
+        final float[] table = new float[INTERVAL_COUNT + 1];
+        for (int i = 0; i <= INTERVAL_COUNT; i++) {
+            table[i] = interpolator.getInterpolation((float) i / INTERVAL_COUNT);
+        }
+        Key key = new Key(interpolator.getClass(), table);
+        synchronized (sCache) {
+            BakedInterpolator baked = sCache.get(key);
+            if (baked == null) {
+                baked = new BakedInterpolator(interpolator, table);
+                sCache.put(key, baked);
+            }
+            return baked;
+        }
+    }
+
+    /**
+     * Removes all cached BakedInterpolator, instances already in use are unaffected
+     */
+    public static void clearCache() {
+        synchronized (sCache) {
+            sCache.clear();
+        }
+    }
+
+    /**
+     * @return the Interpolator sampled by this object
+     */
+    public Interpolator getSource() {
+        return mSource;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        //the table only covers [0..1]
+        if (input <= 0 || input >= 1) {
+            return input == 0 ? mTable[0] : input == 1 ? mTable[INTERVAL_COUNT] : mSource.getInterpolation(input);
+        }
+        final float position = input * INTERVAL_COUNT;
+        final int index = (int) position;
+        final float start = mTable[index];
+        return start + (position - index) * (mTable[index + 1] - start);
+    }
+
+    private static class Key {
+        final Class<?> mClass;
+        final float[] mTable;
+        final int mHashCode;
+
+        Key(Class<?> clazz, float[] table) {
+            mClass = clazz;
+            mTable = table;
+            mHashCode = 31 * clazz.hashCode() + Arrays.hashCode(table);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mClass == key.mClass && Arrays.equals(mTable, key.mTable);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.kaichunlin.transition.util;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link FrameClock} aligned to the display's vsync through Choreographer, on API level below 16 callbacks are posted
+ * to the main thread's Handler instead.
+ * <p>
+ * All pending callbacks are dispatched by a single frame callback.
+ */
+public class DefaultFrameClock implements FrameClock {
+    private static DefaultFrameClock sInstance;
+
+    private final List<Runnable> mCallbackList = new ArrayList<>();
+    private final List<Runnable> mDispatchList = new ArrayList<>();
+    private final Runnable mDispatchFrame = new Runnable() {
+        @Override
+        public void run() {
+            dispatchFrame(System.nanoTime());
+        }
+    };
+    private Handler mHandler;
+    private FrameCallbackCompat mFrameCallback;
+    private boolean mScheduled;
+    private boolean mDispatching;
+    private long mFrameTimeNanos;
+
+    /**
+     * @return the FrameClock shared by the main thread
+     */
+    @UiThread
+    public static DefaultFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new DefaultFrameClock();
+        }
+        return sInstance;
+    }
+
+    private DefaultFrameClock() {
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull Runnable callback) {
+        if (!mCallbackList.contains(callback)) {
+            mCallbackList.add(callback);
+        }
+        if (mScheduled) {
+            return;
+        }
+        mScheduled = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (mFrameCallback == null) {
+                mFrameCallback = new FrameCallbackCompat(this);
+            }
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        } else {
+            if (mHandler == null) {
+                mHandler = new Handler(Looper.getMainLooper());
+            }
+            mHandler.post(mDispatchFrame);
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull Runnable callback) {
+        //the frame callback itself is left scheduled, dispatching an empty frame is harmless
+        mCallbackList.remove(callback);
+        //a callback removed while a frame is dispatched must not run for that frame
+        final int size = mDispatchList.size();
+        for (int i = 0; i < size; i++) {
+            if (mDispatchList.get(i) == callback) {
+                mDispatchList.set(i, null);
+            }
+        }
+    }
+
+    @Override
+    public long getFrameTimeNanos() {
+        return mDispatching ? mFrameTimeNanos : System.nanoTime();
+    }
+
+    private void dispatchFrame(long frameTimeNanos) {
+        mScheduled = false;
+        mDispatching = true;
+        mFrameTimeNanos = frameTimeNanos;
+        //callbacks may post themselves again for the next frame
+        mDispatchList.addAll(mCallbackList);
+        mCallbackList.clear();
+        final int size = mDispatchList.size();
+        Runnable callback;
+        for (int i = 0; i < size; i++) {
+            callback = mDispatchList.get(i);
+            if (callback != null) {
+                callback.run();
+            }
+        }
+        mDispatchList.clear();
+        mDispatching = false;
+    }
+
+    /**
+     * Only loaded on API level 16 or later
+     */
+    private static class FrameCallbackCompat implements Choreographer.FrameCallback {
+        private final DefaultFrameClock mFrameClock;
+
+        FrameCallbackCompat(DefaultFrameClock frameClock) {
+            mFrameClock = frameClock;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mFrameClock.dispatchFrame(frameTimeNanos);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Source of frame callbacks, allows replacing {@link DefaultFrameClock} when frames should be driven by something
+ * other than the display, for example when running on a plain JVM
+ */
+public interface FrameClock {
+    /**
+     * Runs the callback once on the next frame, posting a callback already pending has no effect
+     *
+     * @param callback
+     */
+    void postFrameCallback(@NonNull Runnable callback);
+
+    /**
+     * @param callback the pending callback to be removed
+     */
+    void removeFrameCallback(@NonNull Runnable callback);
+
+    /**
+     * @return time of the frame being dispatched in the {@link System#nanoTime()} time base, or the current time when
+     * called outside of a frame callback
+     */
+    long getFrameTimeNanos();
+}
@@ -0,0 +1,89 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Copy-on-write list of listeners, in the order they were added and without duplicates.
+ * <p>
+ * Listeners are notified by iterating the array returned by {@link #getArray()} with an indexed loop, which allocates
+ * nothing; since adding or removing a listener replaces the array, listeners can be added or removed while being
+ * notified, the change then applies from the next notification.
+ */
+public final class ListenerList<T> {
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] mListeners = EMPTY;
+
+    /**
+     * @param listener
+     * @return false if the listener has already been added
+     */
+    public boolean add(@NonNull T listener) {
+        if (indexOf(listener) >= 0) {
+            return false;
+        }
+        final int size = mListeners.length;
+        final Object[] listeners = new Object[size + 1];
+        System.arraycopy(mListeners, 0, listeners, 0, size);
+        listeners[size] = listener;
+        mListeners = listeners;
+        return true;
+    }
+
+    /**
+     * @param listener
+     * @return false if the listener has not been added
+     */
+    public boolean remove(@Nullable T listener) {
+        final int index = indexOf(listener);
+        if (index < 0) {
+            return false;
+        }
+        final int size = mListeners.length;
+        if (size == 1) {
+            mListeners = EMPTY;
+            return true;
+        }
+        final Object[] listeners = new Object[size - 1];
+        System.arraycopy(mListeners, 0, listeners, 0, index);
+        System.arraycopy(mListeners, index + 1, listeners, index, size - index - 1);
+        mListeners = listeners;
+        return true;
+    }
+
+    public void clear() {
+        mListeners = EMPTY;
+    }
+
+    public boolean contains(@Nullable T listener) {
+        return indexOf(listener) >= 0;
+    }
+
+    public int size() {
+        return mListeners.length;
+    }
+
+    public boolean isEmpty() {
+        return mListeners.length == 0;
+    }
+
+    /**
+     * @return snapshot of the listeners, every element is a T, the array must not be modified
+     */
+    @NonNull
+    public Object[] getArray() {
+        return mListeners;
+    }
+
+    private int indexOf(@Nullable T listener) {
+        final Object[] listeners = mListeners;
+        final int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
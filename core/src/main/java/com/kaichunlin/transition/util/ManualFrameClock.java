@@ -0,0 +1,79 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link FrameClock} whose frames are only produced by calling {@link #advance(long)}, so animations driven by
+ * {@link com.kaichunlin.transition.animation.TransitionClock} can be stepped deterministically, e.g. in JVM tests.
+ */
+public class ManualFrameClock implements FrameClock {
+    private final List<Runnable> mCallbackList = new ArrayList<>();
+    private final List<Runnable> mDispatchList = new ArrayList<>();
+    private long mFrameTimeNanos;
+
+    public ManualFrameClock() {
+    }
+
+    /**
+     * @param frameTimeNanos time of the first frame
+     */
+    public ManualFrameClock(long frameTimeNanos) {
+        mFrameTimeNanos = frameTimeNanos;
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull Runnable callback) {
+        if (!mCallbackList.contains(callback)) {
+            mCallbackList.add(callback);
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull Runnable callback) {
+        mCallbackList.remove(callback);
+        //a callback removed while a frame is dispatched must not run for that frame
+        final int size = mDispatchList.size();
+        for (int i = 0; i < size; i++) {
+            if (mDispatchList.get(i) == callback) {
+                mDispatchList.set(i, null);
+            }
+        }
+    }
+
+    @Override
+    public long getFrameTimeNanos() {
+        return mFrameTimeNanos;
+    }
+
+    /**
+     * Advances the time and dispatches a frame to the pending callbacks
+     *
+     * @param nanos time elapsed since the previous frame
+     */
+    public void advance(@IntRange(from = 0) long nanos) {
+        mFrameTimeNanos += nanos;
+        //callbacks may post themselves again for the next frame
+        mDispatchList.addAll(mCallbackList);
+        mCallbackList.clear();
+        final int size = mDispatchList.size();
+        Runnable callback;
+        for (int i = 0; i < size; i++) {
+            callback = mDispatchList.get(i);
+            if (callback != null) {
+                callback.run();
+            }
+        }
+        mDispatchList.clear();
+    }
+
+    /**
+     * @return true if a callback is waiting for the next frame
+     */
+    public boolean hasPendingCallbacks() {
+        return !mCallbackList.isEmpty();
+    }
+}
@@ -2,6 +2,8 @@ package com.kaichunlin.transition.util;
 
 import android.app.Activity;
 import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.IdRes;
 import android.support.annotation.NonNull;
 import android.support.v7.internal.view.menu.ActionMenuItemView;
@@ -11,6 +13,8 @@ import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewTreeObserver;
 
+import com.kaichunlin.transition.TransitionOperation;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -106,4 +110,26 @@ public class TransitionUtil {
     public static void executeOnGlobalLayout(@NonNull final Activity activity, @NonNull final ViewTreeObserver.OnGlobalLayoutListener listener) {
         executeOnGlobalLayout(activity.getWindow().getDecorView().findViewById(android.R.id.content), listener);
     }
+
+    /**
+     * Calls {@link TransitionOperation#prewarm()} once the view has been laid out and the main thread becomes idle, so
+     * the work is neither performed while the first frame is drawn nor when the user starts the transition
+     *
+     * @param view      view whose layout the transition depends on
+     * @param operation
+     */
+    public static void prewarmWhenIdle(@NonNull View view, @NonNull final TransitionOperation operation) {
+        executeOnGlobalLayout(view, new ViewTreeObserver.OnGlobalLayoutListener() {
+            @Override
+            public void onGlobalLayout() {
+                Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                    @Override
+                    public boolean queueIdle() {
+                        operation.prewarm();
+                        return false;
+                    }
+                });
+            }
+        });
+    }
 }
@@ -0,0 +1,153 @@
+package com.kaichunlin.transition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameBudgetTest {
+    private static final int INTERVAL = 3;
+
+    private FrameBudget mFrameBudget;
+    private CostlyTransition mLow;
+    private CostlyTransition mNormal;
+    private CostlyTransition mHigh;
+    private List<Transition> mTransitionList;
+
+    @Before
+    public void setUp() {
+        //every frame is over budget until the budget is raised
+        mFrameBudget = new FrameBudget(1, INTERVAL);
+        mLow = new CostlyTransition(AbstractTransition.PRIORITY_LOW);
+        mNormal = new CostlyTransition(AbstractTransition.PRIORITY_NORMAL);
+        mHigh = new CostlyTransition(AbstractTransition.PRIORITY_HIGH);
+        mTransitionList = new ArrayList<>();
+        mTransitionList.add(mLow);
+        mTransitionList.add(mNormal);
+        mTransitionList.add(mHigh);
+    }
+
+    @Test
+    public void raisesLevelAfterConsecutiveFramesOverBudget() {
+        runFrames(2);
+        assertEquals(FrameBudget.LEVEL_NONE, mFrameBudget.getLevel());
+        runFrames(1);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+        runFrames(2);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+        runFrames(1);
+        assertEquals(FrameBudget.LEVEL_NORMAL, mFrameBudget.getLevel());
+        runFrames(10);
+        assertEquals(FrameBudget.LEVEL_NORMAL, mFrameBudget.getLevel());
+        assertEquals(16, mFrameBudget.getOverBudgetFrameCount());
+    }
+
+    @Test
+    public void frameUnderBudgetInterruptsRaise() {
+        runFrames(2);
+        mFrameBudget.setBudgetNanos(Long.MAX_VALUE);
+        runFrames(1);
+        mFrameBudget.setBudgetNanos(1);
+        runFrames(2);
+        assertEquals(FrameBudget.LEVEL_NONE, mFrameBudget.getLevel());
+        runFrames(1);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+    }
+
+    @Test
+    public void lowersLevelAfterFramesUpdatingEveryTransitionUnderBudget() {
+        runFrames(3);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+        mFrameBudget.setBudgetNanos(Long.MAX_VALUE);
+
+        //only one frame in INTERVAL updates the low priority transitions and counts towards lowering the level
+        runFrames(30 * INTERVAL - 1);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+        runFrames(1);
+        assertEquals(FrameBudget.LEVEL_NONE, mFrameBudget.getLevel());
+    }
+
+    @Test
+    public void throttlesLowPriorityFirst() {
+        runFrames(3);
+        assertEquals(FrameBudget.LEVEL_LOW, mFrameBudget.getLevel());
+        mFrameBudget.setBudgetNanos(Long.MAX_VALUE);
+        resetCounts();
+
+        runFrames(2 * INTERVAL);
+        assertEquals(2, mLow.mUpdateCount);
+        assertEquals(2 * INTERVAL, mNormal.mUpdateCount);
+        assertEquals(2 * INTERVAL, mHigh.mUpdateCount);
+        assertEquals(2 * INTERVAL - 2, mFrameBudget.getSkippedUpdateCount());
+    }
+
+    @Test
+    public void throttlesNormalPriorityAtNormalLevel() {
+        runFrames(6);
+        assertEquals(FrameBudget.LEVEL_NORMAL, mFrameBudget.getLevel());
+        mFrameBudget.setBudgetNanos(Long.MAX_VALUE);
+        resetCounts();
+
+        runFrames(2 * INTERVAL);
+        assertEquals(2, mLow.mUpdateCount);
+        assertEquals(2, mNormal.mUpdateCount);
+        assertEquals(2 * INTERVAL, mHigh.mUpdateCount);
+    }
+
+    @Test
+    public void flushUpdatesSkippedTransitions() {
+        runFrames(3);
+        mFrameBudget.setBudgetNanos(Long.MAX_VALUE);
+        mFrameBudget.updateProgress(mTransitionList, 0.5f);
+        assertEquals(0, mLow.mLastProgress, 0);
+        resetCounts();
+
+        mFrameBudget.flush(mTransitionList);
+        assertEquals(1, mLow.mUpdateCount);
+        assertEquals(0.5f, mLow.mLastProgress, 0);
+        assertEquals(0, mHigh.mUpdateCount);
+
+        //nothing was skipped since
+        mFrameBudget.flush(mTransitionList);
+        assertEquals(1, mLow.mUpdateCount);
+    }
+
+    private void runFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            mFrameBudget.updateProgress(mTransitionList, 0);
+        }
+    }
+
+    private void resetCounts() {
+        mFrameBudget.resetStatistics();
+        mLow.mUpdateCount = 0;
+        mNormal.mUpdateCount = 0;
+        mHigh.mUpdateCount = 0;
+    }
+
+    /**
+     * Takes some time to update, so a frame is never measured as instantaneous
+     */
+    private static class CostlyTransition extends ViewTransition {
+        private static final long COST_NANOS = 20_000;
+        int mUpdateCount;
+        float mLastProgress = Float.NaN;
+
+        CostlyTransition(int priority) {
+            setPriority(priority);
+        }
+
+        @Override
+        public void updateProgress(float progress) {
+            mUpdateCount++;
+            mLastProgress = progress;
+            final long end = System.nanoTime() + COST_NANOS;
+            while (System.nanoTime() < end) {
+                //busy wait
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.kaichunlin.transition.adapter;
+
+import com.kaichunlin.transition.AbstractTransitionBuilder;
+import com.kaichunlin.transition.Transition;
+import com.kaichunlin.transition.TransitionListener;
+import com.kaichunlin.transition.TransitionManager;
+import com.kaichunlin.transition.util.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Progress coalescing of {@link AbstractAdapter}, driven by a {@link ManualFrameClock}
+ */
+public class AbstractAdapterTest {
+    private static final long FRAME_NANOS = 16_666_667;
+
+    private ManualFrameClock mFrameClock;
+    private RecordingTransitionManager mTransitionManager;
+    private AbstractAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        mFrameClock = new ManualFrameClock();
+        mTransitionManager = new RecordingTransitionManager();
+        mAdapter = new AbstractAdapter() {
+        };
+        mAdapter.setTransitionManager(mTransitionManager);
+        mAdapter.setFrameClock(mFrameClock);
+        mAdapter.setCoalesceProgress(true);
+    }
+
+    @Test
+    public void updatesWithinAFrameAreAppliedOnce() {
+        mAdapter.startTransition(0);
+        mAdapter.updateProgress(0.1f);
+        mAdapter.updateProgress(0.2f);
+        mAdapter.updateProgress(0.3f);
+        assertEquals(Arrays.asList("start 0.0"), mTransitionManager.mLog);
+
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(Arrays.asList("start 0.0", "update 0.3"), mTransitionManager.mLog);
+
+        //nothing is pending anymore
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(Arrays.asList("start 0.0", "update 0.3"), mTransitionManager.mLog);
+    }
+
+    @Test
+    public void eachFrameAppliesItsLatestProgress() {
+        mAdapter.startTransition(0);
+        mAdapter.updateProgress(0.1f);
+        mAdapter.updateProgress(0.2f);
+        mFrameClock.advance(FRAME_NANOS);
+        mAdapter.updateProgress(0.4f);
+        mAdapter.updateProgress(0.5f);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(Arrays.asList("start 0.0", "update 0.2", "update 0.5"), mTransitionManager.mLog);
+    }
+
+    @Test
+    public void stopFlushesPendingProgress() {
+        mAdapter.startTransition(0);
+        mAdapter.updateProgress(0.7f);
+        mAdapter.stopTransition();
+        assertEquals(Arrays.asList("start 0.0", "update 0.7", "stop"), mTransitionManager.mLog);
+        assertFalse(mFrameClock.hasPendingCallbacks());
+
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(Arrays.asList("start 0.0", "update 0.7", "stop"), mTransitionManager.mLog);
+    }
+
+    @Test
+    public void startFlushesPendingProgress() {
+        mAdapter.updateProgress(0.4f);
+        mAdapter.startTransition(0.6f);
+        assertEquals(Arrays.asList("update 0.4", "start 0.6"), mTransitionManager.mLog);
+        assertFalse(mFrameClock.hasPendingCallbacks());
+    }
+
+    @Test
+    public void setProgressFlushesPendingProgress() {
+        mAdapter.updateProgress(0.4f);
+        mAdapter.setProgress(0.9f);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(Arrays.asList("update 0.4", "set 0.9"), mTransitionManager.mLog);
+    }
+
+    @Test
+    public void disablingCoalescingAppliesPendingProgress() {
+        mAdapter.updateProgress(0.3f);
+        assertTrue(mFrameClock.hasPendingCallbacks());
+        mAdapter.setCoalesceProgress(false);
+        assertFalse(mFrameClock.hasPendingCallbacks());
+
+        mAdapter.updateProgress(0.6f);
+        assertEquals(Arrays.asList("update 0.3", "update 0.6"), mTransitionManager.mLog);
+    }
+
+    @Test
+    public void repeatedStartAndStopAreIgnored() {
+        assertTrue(mAdapter.startTransition(0));
+        assertFalse(mAdapter.startTransition(0.5f));
+        mAdapter.stopTransition();
+        mAdapter.stopTransition();
+        assertEquals(Arrays.asList("start 0.0", "stop"), mTransitionManager.mLog);
+    }
+
+    /**
+     * Records the calls made by the adapter
+     */
+    private static class RecordingTransitionManager implements TransitionManager {
+        final List<String> mLog = new ArrayList<>();
+
+        @Override
+        public void prewarm() {
+        }
+
+        @Override
+        public boolean startTransition() {
+            return startTransition(0);
+        }
+
+        @Override
+        public boolean startTransition(float progress) {
+            mLog.add("start " + progress);
+            return true;
+        }
+
+        @Override
+        public void updateProgress(float progress) {
+            mLog.add("update " + progress);
+        }
+
+        @Override
+        public void stopTransition() {
+            mLog.add("stop");
+        }
+
+        @Override
+        public void setProgress(float progress) {
+            mLog.add("set " + progress);
+        }
+
+        @Override
+        public void addTransition(AbstractTransitionBuilder transitionBuilder) {
+        }
+
+        @Override
+        public void addTransition(Transition transition) {
+        }
+
+        @Override
+        public void addAllTransitions(List<Transition> transitionsList) {
+        }
+
+        @Override
+        public boolean removeTransition(Transition transition) {
+            return false;
+        }
+
+        @Override
+        public List<Transition> getTransitions() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void removeAllTransitions() {
+        }
+
+        @Override
+        public void addTransitionListener(TransitionListener transitionListener) {
+        }
+
+        @Override
+        public void removeTransitionListener(TransitionListener transitionListener) {
+        }
+
+        @Override
+        public void notifyTransitionStart() {
+        }
+
+        @Override
+        public void notifyTransitionEnd() {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.kaichunlin.transition.animation;
+
+import com.kaichunlin.transition.util.ManualFrameClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Resetting animations driven by {@link TransitionClock} notifies {@link AnimationListener#onAnimationReset(Animation)}
+ * exactly once
+ */
+public class AnimationResetTest {
+    private static final long FRAME_NANOS = 10_000_000;
+
+    private ManualFrameClock mFrameClock;
+    private CountingListener mListener;
+
+    @Before
+    public void setUp() {
+        mFrameClock = new ManualFrameClock();
+        TransitionClock.getInstance().setFrameClock(mFrameClock);
+        mListener = new CountingListener();
+    }
+
+    @After
+    public void tearDown() {
+        assertEquals(0, TransitionClock.getInstance().getActiveCount());
+        assertFalse(mFrameClock.hasPendingCallbacks());
+    }
+
+    @Test
+    public void resetWhileRunning() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.addAnimationListener(mListener);
+        animation.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        mFrameClock.advance(FRAME_NANOS);
+
+        animation.resetAnimation();
+        assertEquals(1, mListener.mResetCount);
+        assertEquals(0, mListener.mCancelCount);
+        assertFalse(animation.isAnimating());
+        //the operation is brought back to the start of the animation
+        assertEquals(0, operation.mLastProgress, 0);
+        assertEquals(operation.mStartCount, operation.mStopCount);
+    }
+
+    @Test
+    public void resetWhileIdle() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.addAnimationListener(mListener);
+
+        animation.resetAnimation();
+        assertEquals(1, mListener.mResetCount);
+        assertEquals(0, operation.mLastProgress, 0);
+        assertEquals(operation.mStartCount, operation.mStopCount);
+    }
+
+    @Test
+    public void resetAfterEnd() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.setReverseAnimation(true);
+        animation.addAnimationListener(mListener);
+        animation.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        animation.endAnimation();
+        assertEquals(1, mListener.mEndCount);
+
+        animation.resetAnimation();
+        assertEquals(1, mListener.mResetCount);
+        assertEquals(1, operation.mLastProgress, 0);
+    }
+
+    @Test
+    public void resetTwice() {
+        final TransitionAnimation animation = new TransitionAnimation(new RecordingOperation());
+        animation.addAnimationListener(mListener);
+        animation.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+
+        animation.resetAnimation();
+        animation.resetAnimation();
+        assertEquals(2, mListener.mResetCount);
+    }
+
+    @Test
+    public void resetSharedControllerWhileRunning() {
+        final RecordingOperation first = new RecordingOperation();
+        final RecordingOperation second = new RecordingOperation();
+        final AnimationManager animationManager = new AnimationManager();
+        animationManager.addAnimation(new TransitionAnimation(first));
+        animationManager.addAnimation(new TransitionAnimation(second));
+        animationManager.addAnimationListener(mListener);
+        animationManager.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(1, TransitionClock.getInstance().getActiveCount());
+
+        animationManager.resetAnimation();
+        assertEquals(1, mListener.mResetCount);
+        assertFalse(animationManager.isAnimating());
+        assertEquals(0, first.mLastProgress, 0);
+        assertEquals(0, second.mLastProgress, 0);
+    }
+
+    @Test
+    public void resetSharedControllerWhileIdle() {
+        final AnimationManager animationManager = new AnimationManager();
+        animationManager.addAnimation(new TransitionAnimation(new RecordingOperation()));
+        animationManager.addAnimation(new TransitionAnimation(new RecordingOperation()));
+        animationManager.addAnimationListener(mListener);
+        animationManager.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        animationManager.endAnimation();
+        assertEquals(1, mListener.mEndCount);
+
+        animationManager.resetAnimation();
+        assertEquals(1, mListener.mResetCount);
+    }
+
+    private static class CountingListener implements AnimationListener {
+        int mStartCount;
+        int mEndCount;
+        int mCancelCount;
+        int mResetCount;
+
+        @Override
+        public void onAnimationStart(Animation animation) {
+            mStartCount++;
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+            mEndCount++;
+        }
+
+        @Override
+        public void onAnimationCancel(Animation animation) {
+            mCancelCount++;
+        }
+
+        @Override
+        public void onAnimationReset(Animation animation) {
+            mResetCount++;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kaichunlin.transition.animation;
+
+import com.kaichunlin.transition.TransitionOperation;
+
+/**
+ * Counts the calls made by the animations to their transition
+ */
+class RecordingOperation implements TransitionOperation {
+    int mStartCount;
+    int mUpdateCount;
+    int mStopCount;
+    float mLastProgress = Float.NaN;
+
+    @Override
+    public void prewarm() {
+    }
+
+    @Override
+    public boolean startTransition() {
+        mStartCount++;
+        return true;
+    }
+
+    @Override
+    public boolean startTransition(float progress) {
+        mStartCount++;
+        mLastProgress = progress;
+        return true;
+    }
+
+    @Override
+    public void updateProgress(float progress) {
+        mUpdateCount++;
+        mLastProgress = progress;
+    }
+
+    @Override
+    public void stopTransition() {
+        mStopCount++;
+    }
+}
@@ -0,0 +1,149 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+
+import com.kaichunlin.transition.util.ManualFrameClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Frame dispatching of {@link TransitionClock}, driven by a {@link ManualFrameClock}
+ */
+public class TransitionClockTest {
+    private static final long FRAME_NANOS = 10_000_000;
+
+    private CountingFrameClock mFrameClock;
+    private TransitionClock mClock;
+
+    @Before
+    public void setUp() {
+        mFrameClock = new CountingFrameClock();
+        mClock = TransitionClock.getInstance();
+        mClock.setFrameClock(mFrameClock);
+    }
+
+    @After
+    public void tearDown() {
+        assertEquals(0, mClock.getActiveCount());
+    }
+
+    @Test
+    public void postsOneCallbackPerFrame() {
+        final RecordingOperation first = new RecordingOperation();
+        final RecordingOperation second = new RecordingOperation();
+        final TransitionAnimation firstAnimation = new TransitionAnimation(first);
+        final TransitionAnimation secondAnimation = new TransitionAnimation(second);
+        firstAnimation.startAnimation(100);
+        secondAnimation.startAnimation(100);
+        assertEquals(2, mClock.getActiveCount());
+        assertEquals(1, mFrameClock.mPostCount);
+
+        for (int i = 1; i <= 5; i++) {
+            mFrameClock.advance(FRAME_NANOS);
+            assertEquals(1 + i, mFrameClock.mPostCount);
+        }
+        //the first frame sets the start time, each frame updates each animation once
+        assertEquals(5, first.mUpdateCount);
+        assertEquals(5, second.mUpdateCount);
+
+        firstAnimation.endAnimation();
+        secondAnimation.endAnimation();
+    }
+
+    @Test
+    public void progressFollowsFrameTime() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(0, operation.mLastProgress, 0);
+        mFrameClock.advance(2 * FRAME_NANOS);
+        assertEquals(0.2f, operation.mLastProgress, 0.0001f);
+
+        animation.endAnimation();
+        assertEquals(1, operation.mLastProgress, 0);
+    }
+
+    @Test
+    public void releasesFrameCallbackWhenIdle() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.startAnimation(30);
+        assertTrue(mFrameClock.hasPendingCallbacks());
+
+        //first frame starts the clock, the animation ends on the fourth frame
+        for (int i = 0; i < 4; i++) {
+            mFrameClock.advance(FRAME_NANOS);
+        }
+        assertFalse(animation.isAnimating());
+        assertEquals(0, mClock.getActiveCount());
+        assertFalse(mFrameClock.hasPendingCallbacks());
+        assertEquals(1, operation.mLastProgress, 0);
+        assertEquals(1, operation.mStopCount);
+
+        final int postCount = mFrameClock.mPostCount;
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(postCount, mFrameClock.mPostCount);
+    }
+
+    @Test
+    public void pausedAnimationReleasesFrameCallback() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation animation = new TransitionAnimation(operation);
+        animation.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        mFrameClock.advance(FRAME_NANOS);
+        animation.pauseAnimation();
+        assertEquals(0, mClock.getActiveCount());
+        assertFalse(mFrameClock.hasPendingCallbacks());
+
+        //the time spent paused is not counted
+        mFrameClock.advance(50 * FRAME_NANOS);
+        animation.resumeAnimation();
+        mFrameClock.advance(FRAME_NANOS);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(0.2f, operation.mLastProgress, 0.0001f);
+
+        animation.cancelAnimation();
+        assertFalse(mFrameClock.hasPendingCallbacks());
+    }
+
+    @Test
+    public void animationStoppedByAnotherDuringFrameIsNotTicked() {
+        final RecordingOperation operation = new RecordingOperation();
+        final TransitionAnimation stopped = new TransitionAnimation(operation);
+        final TransitionAnimation stopping = new TransitionAnimation(new RecordingOperation() {
+            @Override
+            public void updateProgress(float progress) {
+                super.updateProgress(progress);
+                stopped.cancelAnimation();
+            }
+        });
+        stopping.startAnimation(100);
+        stopped.startAnimation(100);
+        mFrameClock.advance(FRAME_NANOS);
+        assertEquals(0, operation.mUpdateCount);
+        assertEquals(1, mClock.getActiveCount());
+
+        stopping.cancelAnimation();
+    }
+
+    /**
+     * Counts the callbacks posted to it
+     */
+    private static class CountingFrameClock extends ManualFrameClock {
+        int mPostCount;
+
+        @Override
+        public void postFrameCallback(@NonNull Runnable callback) {
+            mPostCount++;
+            super.postFrameCallback(callback);
+        }
+    }
+}
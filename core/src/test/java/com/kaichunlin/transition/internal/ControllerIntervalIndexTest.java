@@ -0,0 +1,106 @@
+package com.kaichunlin.transition.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ControllerIntervalIndexTest {
+    private ControllerIntervalIndex mIndex;
+
+    /**
+     * 0: [0..0.3], 1: [0.5..1], 2: not range bound, 3: [0.8..0.6]
+     */
+    @Before
+    public void setUp() {
+        final List<TransitionController> controllers = new ArrayList<>();
+        controllers.add(new RangeController(true).setRange(0, 0.3f));
+        controllers.add(new RangeController(true).setRange(0.5f, 1));
+        controllers.add(new RangeController(false).setRange(0.2f, 0.4f));
+        controllers.add(new RangeController(true).setRange(0.8f, 0.6f));
+        mIndex = new ControllerIntervalIndex(controllers);
+    }
+
+    @Test
+    public void firstQueryReturnsEveryController() {
+        assertArrayEquals(new int[]{0, 1, 2, 3}, query(0.1f));
+    }
+
+    @Test
+    public void returnsControllersInsideOrEnteredMovingForward() {
+        query(0.1f);
+        assertArrayEquals(new int[]{0, 2}, query(0.2f));
+        //0 leaves its range and is updated once more, 1 is entered
+        assertArrayEquals(new int[]{0, 1, 2}, query(0.55f));
+        //3 is entered through its end, being reversed
+        assertArrayEquals(new int[]{1, 2, 3}, query(0.7f));
+        assertArrayEquals(new int[]{1, 2, 3}, query(0.75f));
+    }
+
+    @Test
+    public void returnsControllersInsideOrCrossedMovingBackward() {
+        query(0.9f);
+        assertArrayEquals(new int[]{1, 2}, query(0.85f));
+        //0 is entered through its end, 1 is left, 3 is crossed
+        assertArrayEquals(new int[]{0, 1, 2, 3}, query(0.1f));
+        assertArrayEquals(new int[]{0, 2}, query(0.1f));
+    }
+
+    @Test
+    public void returnsRangesCrossedWithinOneQuery() {
+        query(-0.5f);
+        assertArrayEquals(new int[]{2}, query(-0.1f));
+        //every range lies between the last and new progress
+        assertArrayEquals(new int[]{0, 1, 2, 3}, query(1.5f));
+        assertArrayEquals(new int[]{2}, query(1.2f));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, query(-1));
+    }
+
+    @Test
+    public void returnsControllersAtTheBoundsOfTheirRange() {
+        query(0.4f);
+        assertArrayEquals(new int[]{1, 2}, query(0.5f));
+        assertArrayEquals(new int[]{1, 2}, query(0.45f));
+        assertArrayEquals(new int[]{0, 2}, query(0.3f));
+    }
+
+    @Test
+    public void resetReturnsEveryController() {
+        query(0.1f);
+        query(0.2f);
+        mIndex.reset();
+        assertArrayEquals(new int[]{0, 1, 2, 3}, query(0.2f));
+        assertArrayEquals(new int[]{0, 2}, query(0.25f));
+    }
+
+    private int[] query(float progress) {
+        return Arrays.copyOf(mIndex.getResult(), mIndex.query(progress));
+    }
+
+    private static class RangeController extends TransitionController<RangeController> {
+        private final boolean mRangeBound;
+
+        RangeController(boolean rangeBound) {
+            super(null);
+            mRangeBound = rangeBound;
+        }
+
+        @Override
+        boolean isRangeBound() {
+            return mRangeBound;
+        }
+
+        @Override
+        protected void updateProgress(float progress) {
+        }
+
+        @Override
+        protected RangeController self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.kaichunlin.transition.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KeyframeTrackTest {
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void interpolatesFloatValues() {
+        final KeyframeTrack track = KeyframeTrack.ofFloat(0, 10, 30);
+        assertTrue(track.isFloat());
+        assertEquals(3, track.size());
+        assertEquals(0, track.getFloatValue(0), DELTA);
+        assertEquals(5, track.getFloatValue(0.25f), DELTA);
+        assertEquals(10, track.getFloatValue(0.5f), DELTA);
+        assertEquals(20, track.getFloatValue(0.75f), DELTA);
+        assertEquals(30, track.getFloatValue(1), DELTA);
+    }
+
+    @Test
+    public void extrapolatesFromFirstAndLastInterval() {
+        final KeyframeTrack track = KeyframeTrack.ofFloat(0, 10, 30);
+        assertEquals(-10, track.getFloatValue(-0.5f), DELTA);
+        assertEquals(50, track.getFloatValue(1.5f), DELTA);
+
+        final KeyframeTrack intTrack = KeyframeTrack.ofInt(0, 10, 30);
+        assertEquals(-10, intTrack.getIntValue(-0.5f));
+        assertEquals(50, intTrack.getIntValue(1.5f));
+    }
+
+    @Test
+    public void findsIntervalWhenScrubbingOutOfOrder() {
+        final KeyframeTrack track = KeyframeTrack.ofFloat(0, 10, 20, 30, 40);
+        final float[] fractions = {0.9f, 0.1f, 0.6f, 0.3f, 1, 0, 0.5f};
+        for (int i = 0; i < fractions.length; i++) {
+            assertEquals(40 * fractions[i], track.getFloatValue(fractions[i]), DELTA);
+        }
+    }
+
+    @Test
+    public void truncatesIntDeltaTowardsZero() {
+        final KeyframeTrack track = KeyframeTrack.ofInt(0, 10);
+        assertFalse(track.isFloat());
+        assertEquals(3, track.getIntValue(0.39f));
+        assertEquals(3.9f, track.getFloatValue(0.39f), DELTA);
+
+        //same as IntKeyframeSet, the delta from the previous value is truncated rather than the value
+        final KeyframeTrack descending = KeyframeTrack.ofInt(10, 0);
+        assertEquals(8, descending.getIntValue(0.21f));
+    }
+
+    @Test
+    public void truncatesFloatTrackEvaluatedAsInt() {
+        final KeyframeTrack track = KeyframeTrack.ofFloat(0, 1.5f);
+        assertEquals(1, track.getIntValue(0.9f));
+        assertEquals(1, track.getIntKeyframe(1));
+    }
+
+    @Test
+    public void reverseMatchesReversedValues() {
+        final KeyframeTrack reversed = KeyframeTrack.ofFloat(0, 10, 30).reverse();
+        final KeyframeTrack expected = KeyframeTrack.ofFloat(30, 10, 0);
+        assertArrayEquals(new float[]{30, 10, 0}, reversed.toFloatArray(), 0);
+        for (int i = -20; i <= 120; i++) {
+            assertEquals(expected.getFloatValue(i / 100f), reversed.getFloatValue(i / 100f), DELTA);
+        }
+    }
+
+    @Test
+    public void reverseRoundsIntValuesAsReversedValues() {
+        final KeyframeTrack reversed = KeyframeTrack.ofInt(0, 7, 3, -5, 12).reverse();
+        final KeyframeTrack expected = KeyframeTrack.ofInt(12, -5, 3, 7, 0);
+        assertArrayEquals(new int[]{12, -5, 3, 7, 0}, reversed.toIntArray());
+        for (int i = -20; i <= 120; i++) {
+            assertEquals("fraction " + i / 100f, expected.getIntValue(i / 100f), reversed.getIntValue(i / 100f));
+        }
+    }
+
+    @Test
+    public void reversingTwiceRestoresTrack() {
+        final KeyframeTrack track = KeyframeTrack.ofInt(0, 7, 3);
+        final KeyframeTrack restored = track.reverse().reverse();
+        assertArrayEquals(track.toIntArray(), restored.toIntArray());
+        for (int i = 0; i <= 100; i++) {
+            assertEquals(track.getIntValue(i / 100f), restored.getIntValue(i / 100f));
+        }
+    }
+
+    @Test
+    public void copiesKeepTheirOwnInterval() {
+        final KeyframeTrack track = KeyframeTrack.ofFloat(0, 10, 20, 30, 40);
+        final KeyframeTrack[] copies = KeyframeTrack.copyOf(new KeyframeTrack[]{track, track.reverse()});
+        assertEquals(36, copies[0].getFloatValue(0.9f), DELTA);
+        assertEquals(4, track.getFloatValue(0.1f), DELTA);
+        assertEquals(36, copies[1].getFloatValue(0.1f), DELTA);
+        assertEquals(4, copies[0].getFloatValue(0.1f), DELTA);
+        assertEquals(36, track.getFloatValue(0.9f), DELTA);
+    }
+}
@@ -0,0 +1,77 @@
+package com.kaichunlin.transition.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ListenerListTest {
+    private ListenerList<String> mList;
+
+    @Before
+    public void setUp() {
+        mList = new ListenerList<>();
+    }
+
+    @Test
+    public void keepsAddOrderWithoutDuplicates() {
+        assertTrue(mList.isEmpty());
+        assertTrue(mList.add("a"));
+        assertTrue(mList.add("b"));
+        assertFalse(mList.add("a"));
+        assertTrue(mList.add("c"));
+        assertEquals(3, mList.size());
+        assertArrayEquals(new Object[]{"a", "b", "c"}, mList.getArray());
+    }
+
+    @Test
+    public void removesListeners() {
+        mList.add("a");
+        mList.add("b");
+        mList.add("c");
+        assertTrue(mList.remove("b"));
+        assertFalse(mList.remove("b"));
+        assertFalse(mList.remove(null));
+        assertArrayEquals(new Object[]{"a", "c"}, mList.getArray());
+        assertFalse(mList.contains("b"));
+
+        assertTrue(mList.remove("a"));
+        assertTrue(mList.remove("c"));
+        assertTrue(mList.isEmpty());
+        assertEquals(0, mList.getArray().length);
+    }
+
+    @Test
+    public void snapshotIsNotModifiedByLaterChanges() {
+        mList.add("a");
+        mList.add("b");
+        final Object[] snapshot = mList.getArray();
+        mList.remove("a");
+        mList.add("c");
+        assertArrayEquals(new Object[]{"a", "b"}, snapshot);
+        assertArrayEquals(new Object[]{"b", "c"}, mList.getArray());
+    }
+
+    @Test
+    public void snapshotIsReusedUntilModified() {
+        mList.add("a");
+        final Object[] snapshot = mList.getArray();
+        mList.add("a");
+        mList.remove("b");
+        assertSame(snapshot, mList.getArray());
+    }
+
+    @Test
+    public void clearsListeners() {
+        mList.add("a");
+        mList.add("b");
+        final Object[] snapshot = mList.getArray();
+        mList.clear();
+        assertTrue(mList.isEmpty());
+        assertArrayEquals(new Object[]{"a", "b"}, snapshot);
+    }
+}
@@ -6,11 +6,20 @@ import android.support.v4.util.ArrayMap;
 import com.github.ksoichiro.android.observablescrollview.ObservableScrollViewCallbacks;
 import com.github.ksoichiro.android.observablescrollview.ScrollState;
 import com.kaichunlin.transition.AbstractTransitionBuilder;
+import com.kaichunlin.transition.DefaultTransitionManager;
 import com.kaichunlin.transition.Transition;
+import com.kaichunlin.transition.TransitionManager;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * TODO work in progress
- *
+ * Adapter for ObservableScrollView, each transition is added along with the distance in pixels to scroll for it to go
+ * from its start to its end, the scroll distance is then normalized into the progress of each transition.
+ * <p>
+ * Transitions sharing the same distance are managed together, a group that has reached the end of its range in the
+ * current scroll direction is no longer updated until the direction changes.
+ * <p>
  * Created by Kai-Chun Lin on 2015/5/7.
  */
 public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implements ObservableScrollViewCallbacks {
@@ -21,7 +30,9 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
         DOWN
     }
 
-    private ArrayMap<Transition, Integer> mRanges = new ArrayMap<>();
+    //transitions grouped by distance, in the order the distances were first added
+    private final List<RangeGroup> mGroupList = new ArrayList<>();
+    private ArrayMap<Transition, RangeGroup> mRanges = new ArrayMap<>();
     private ObservableScrollViewCallbacks mCallback;
     private int mStartY;
     private int mLastScrollY;
@@ -53,18 +64,135 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
     /**
      *
      * @param transition
-     * @param range
+     * @param range distance in pixels to scroll from the start to the end of the transition, negative when the
+     *              transition should progress while scrolling up
      */
     public void addTransition(@NonNull Transition transition, int range) {
-        super.addTransition(transition);
-        mRanges.put(transition, range);
+        if (range == 0) {
+            throw new IllegalArgumentException("Range must not be 0");
+        }
+        if (mRanges.containsKey(transition)) {
+            return;
+        }
+        RangeGroup group = null;
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            if (mGroupList.get(i).mRange == range) {
+                group = mGroupList.get(i);
+                break;
+            }
+        }
+        if (group == null) {
+            group = new RangeGroup(range);
+            mGroupList.add(group);
+        }
+        group.mTransitionManager.addTransition(transition);
+        mRanges.put(transition, group);
     }
 
     @Override
     public boolean removeTransition(Transition transition) {
-        boolean result = super.removeTransition(transition);
-        mRanges.remove(transition);
-        return result;
+        RangeGroup group = mRanges.remove(transition);
+        if (group == null) {
+            return false;
+        }
+        group.mTransitionManager.removeTransition(transition);
+        if (group.mTransitionManager.getTransitions().isEmpty()) {
+            mGroupList.remove(group);
+        }
+        return true;
+    }
+
+    @Override
+    public void removeAllTransitions() {
+        super.removeAllTransitions();
+        mGroupList.clear();
+        mRanges.clear();
+    }
+
+    /**
+     * @return the transitions of all distances
+     */
+    @Override
+    public List<Transition> getTransitions() {
+        List<Transition> list = new ArrayList<>();
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            list.addAll(mGroupList.get(i).mTransitionManager.getTransitions());
+        }
+        return list;
+    }
+
+    @Override
+    public void prewarm() {
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            mGroupList.get(i).mTransitionManager.prewarm();
+        }
+    }
+
+    @Override
+    public boolean startTransition(float progress) {
+        if (!super.startTransition(progress)) {
+            return false;
+        }
+        RangeGroup group;
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            group = mGroupList.get(i);
+            group.mRetired = false;
+            group.mTransitionManager.startTransition(progress);
+        }
+        return true;
+    }
+
+    /**
+     * Updates every transition that has not reached the end of its range in the current scroll direction
+     *
+     * @param value scroll distance in pixels since the start location
+     */
+    @Override
+    public void updateProgress(float value) {
+        final boolean down = mDirection == Direction.DOWN;
+        RangeGroup group;
+        float progress;
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            group = mGroupList.get(i);
+            if (group.mRetired) {
+                continue;
+            }
+            progress = value / group.mRange;
+            //progress increases when scrolling down for a positive range, and when scrolling up for a negative one
+            if ((down == group.mRange > 0) ? progress >= 1 : progress <= 0) {
+                group.mRetired = mDirection != Direction.UNKOWN;
+            }
+            group.mTransitionManager.updateProgress(progress < 0 ? 0 : progress > 1 ? 1 : progress);
+        }
+    }
+
+    /**
+     * @param progress normalized progress applied to every transition
+     */
+    @Override
+    public void setProgress(float progress) {
+        super.setProgress(progress);
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            mGroupList.get(i).mTransitionManager.setProgress(progress);
+        }
+    }
+
+    @Override
+    public void stopTransition() {
+        if (!getAdapterState().isTransiting()) {
+            return;
+        }
+        super.stopTransition();
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            mGroupList.get(i).mTransitionManager.stopTransition();
+        }
     }
 
     /**
@@ -84,6 +212,7 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
         }
         if (mLastScrollY < scrollY && mDirection != Direction.DOWN) {
             mDirection = Direction.DOWN;
+            rearm();
             if (mOnChangeDirectionListener != null) {
                 mOnChangeDirectionListener.onDown();
             }
@@ -92,6 +221,7 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
             }
         } else if (mLastScrollY > scrollY && mDirection != Direction.UP) {
             mDirection = Direction.UP;
+            rearm();
             if (mOnChangeDirectionListener != null) {
                 mOnChangeDirectionListener.onUp();
             }
@@ -100,7 +230,7 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
             }
         }
 
-        getTransitionManager().updateProgress(scrollY - mStartY);
+        updateProgress(scrollY - mStartY);
 
         mLastScrollY = scrollY;
 
@@ -109,6 +239,13 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
         }
     }
 
+    private void rearm() {
+        final int size = mGroupList.size();
+        for (int i = 0; i < size; i++) {
+            mGroupList.get(i).mRetired = false;
+        }
+    }
+
     @Override
     public void onDownMotionEvent() {
 
@@ -158,4 +295,18 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
 
         void onDown();
     }
+
+    /**
+     * Transitions sharing the same scroll distance
+     */
+    private static class RangeGroup {
+        final TransitionManager mTransitionManager = new DefaultTransitionManager();
+        final int mRange;
+        //set once the end state in the current scroll direction has been written
+        boolean mRetired;
+
+        RangeGroup(int range) {
+            mRange = range;
+        }
+    }
 }
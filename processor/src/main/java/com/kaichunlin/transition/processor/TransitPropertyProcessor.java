@@ -0,0 +1,362 @@
+package com.kaichunlin.transition.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code GeneratedViewProperties} class from the setters annotated with
+ * {@code com.kaichunlin.transition.annotation.TransitProperty}: one typed NineOldAndroids Property per property name,
+ * dispatching to the setter of the annotated View class with an instanceof check instead of reflection.
+ * <p>
+ * Each module gets its own class, in the package of the annotated class whose name comes first, or in the package
+ * given by the {@value #OPTION_PACKAGE} option, so a library and the app using it can both use the annotation. Its
+ * static {@code register()} method registers the properties with {@code ViewProperty}, and must be called explicitly so
+ * no classpath scanning is needed to find the generated classes.
+ * <p>
+ * The annotation is referenced by name so this module does not depend on the core Android library.
+ */
+@SupportedAnnotationTypes(TransitPropertyProcessor.ANNOTATION)
+@SupportedOptions(TransitPropertyProcessor.OPTION_PACKAGE)
+public class TransitPropertyProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "com.kaichunlin.transition.annotation.TransitProperty";
+    static final String OPTION_PACKAGE = "transitProperty.package";
+    private static final String VIEW = "android.view.View";
+    private static final String CLASS_NAME = "GeneratedViewProperties";
+    //properties handled by ViewProperties, they cannot be redefined
+    private static final Set<String> BUILT_IN_PROPERTIES = new HashSet<>(Arrays.asList("alpha", "rotation", "rotationX",
+            "rotationY", "scaleX", "scaleY", "translationX", "translationY", "x", "y"));
+
+    private final Map<String, PropertyInfo> mProperties = new LinkedHashMap<>();
+    //the annotated class whose qualified name comes first, its package is used by default
+    private String mFirstType;
+    private boolean mGenerated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+        boolean found = false;
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (mGenerated) {
+                error(element, CLASS_NAME + " has already been generated, @TransitProperty cannot be used by a generated class");
+                continue;
+            }
+            found |= collect(element);
+        }
+        //only the first round contains the annotated setters of the sources being compiled
+        if (found && !mGenerated) {
+            generate();
+            mGenerated = true;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if element is a valid setter and has been added to {@link #mProperties}
+     */
+    private boolean collect(Element element) {
+        if (element.getKind() != ElementKind.METHOD) {
+            error(element, "@TransitProperty can only be applied to a method");
+            return false;
+        }
+        final ExecutableElement setter = (ExecutableElement) element;
+        final TypeElement type = (TypeElement) setter.getEnclosingElement();
+        if (!setter.getModifiers().contains(Modifier.PUBLIC) || setter.getModifiers().contains(Modifier.STATIC)) {
+            error(setter, "@TransitProperty setter must be public and not static");
+            return false;
+        }
+        if (!isAccessible(type)) {
+            error(setter, "@TransitProperty setter must be declared in a public class");
+            return false;
+        }
+        final TypeElement view = processingEnv.getElementUtils().getTypeElement(VIEW);
+        if (view != null && !processingEnv.getTypeUtils().isSubtype(type.asType(), view.asType())) {
+            error(setter, "@TransitProperty setter must be declared in a subclass of " + VIEW);
+            return false;
+        }
+        final TypeKind kind = setter.getParameters().size() == 1 ? setter.getParameters().get(0).asType().getKind() : null;
+        if (kind != TypeKind.FLOAT && kind != TypeKind.INT) {
+            error(setter, "@TransitProperty setter must take a single float or int");
+            return false;
+        }
+
+        final String name = getPropertyName(setter);
+        if (name == null) {
+            error(setter, "@TransitProperty must specify the property name if the setter name does not start with \"set\"");
+            return false;
+        }
+        if (BUILT_IN_PROPERTIES.contains(name)) {
+            error(setter, "\"" + name + "\" is a built-in property and cannot be redefined");
+            return false;
+        }
+
+        PropertyInfo info = mProperties.get(name);
+        if (info == null) {
+            info = new PropertyInfo(name, kind);
+            mProperties.put(name, info);
+        } else if (info.kind != kind) {
+            error(setter, "Property \"" + name + "\" is already declared as " + info.kind.name().toLowerCase(Locale.US));
+            return false;
+        }
+        info.add(type, setter.getSimpleName().toString(), findGetter(type, name, kind));
+        final String typeName = type.getQualifiedName().toString();
+        if (mFirstType == null || typeName.compareTo(mFirstType) < 0) {
+            mFirstType = typeName;
+        }
+        return true;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * @return the name set by the annotation, or derived from the setter name, null if neither is available
+     */
+    private static String getPropertyName(ExecutableElement setter) {
+        for (AnnotationMirror mirror : setter.getAnnotationMirrors()) {
+            if (!ANNOTATION.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if ("value".equals(entry.getKey().getSimpleName().toString())) {
+                    final String value = (String) entry.getValue().getValue();
+                    if (!value.isEmpty()) {
+                        return value;
+                    }
+                }
+            }
+        }
+        final String setterName = setter.getSimpleName().toString();
+        if (setterName.length() > 3 && setterName.startsWith("set")) {
+            return Character.toLowerCase(setterName.charAt(3)) + setterName.substring(4);
+        }
+        return null;
+    }
+
+    /**
+     * @return the name of the public getter of the property, or null if type does not have one
+     */
+    private String findGetter(TypeElement type, String name, TypeKind kind) {
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        String methodName;
+        for (ExecutableElement method : methods) {
+            methodName = method.getSimpleName().toString();
+            if (methodName.equals("get" + capitalized) && method.getParameters().isEmpty()
+                    && method.getReturnType().getKind() == kind
+                    && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                return methodName;
+            }
+        }
+        return null;
+    }
+
+    private void generate() {
+        final String packageName = getPackage();
+        final String qualifiedName = packageName.isEmpty() ? CLASS_NAME : packageName + "." + CLASS_NAME;
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName);
+            try (Writer writer = file.openWriter()) {
+                writer.write(generateSource(packageName));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the package set by {@link #OPTION_PACKAGE}, or the package of {@link #mFirstType}
+     */
+    private String getPackage() {
+        final String option = processingEnv.getOptions().get(OPTION_PACKAGE);
+        if (option != null && !option.isEmpty()) {
+            return option;
+        }
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(mFirstType);
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    private String generateSource(String packageName) {
+        final StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import android.view.View;\n\n");
+        sb.append("import com.kaichunlin.transition.ViewProperty;\n");
+        sb.append("import com.nineoldandroids.util.FloatProperty;\n");
+        sb.append("import com.nineoldandroids.util.IntProperty;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Generated by ").append(TransitPropertyProcessor.class.getName()).append(" from the TransitProperty annotations, do not modify\n");
+        sb.append(" */\n");
+        sb.append("public final class ").append(CLASS_NAME).append(" {\n");
+
+        final Set<String> constants = new HashSet<>();
+        for (PropertyInfo info : mProperties.values()) {
+            String constant = info.getConstantName();
+            while (!constants.add(constant)) {
+                constant += "_";
+            }
+            info.constant = constant;
+            info.appendDeclaration(sb);
+        }
+
+        sb.append("    private ").append(CLASS_NAME).append("() {\n");
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Registers the properties with ViewProperty, so they are also used when transited by name\n");
+        sb.append("     */\n");
+        sb.append("    public static void register() {\n");
+        for (PropertyInfo info : mProperties.values()) {
+            sb.append("        ViewProperty.register(").append(info.constant).append(");\n");
+        }
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * The setters sharing the same property name
+     */
+    private class PropertyInfo {
+        final String name;
+        final TypeKind kind;
+        final List<TypeElement> types = new ArrayList<>();
+        final List<String> setters = new ArrayList<>();
+        final List<String> getters = new ArrayList<>();
+        String constant;
+
+        PropertyInfo(String name, TypeKind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+
+        /**
+         * Subclasses are placed before their superclasses so the instanceof checks pick the most specific setter
+         */
+        void add(TypeElement type, String setter, String getter) {
+            final TypeMirror mirror = type.asType();
+            int index = types.size();
+            final int size = types.size();
+            for (int i = 0; i < size; i++) {
+                if (processingEnv.getTypeUtils().isSubtype(mirror, types.get(i).asType())) {
+                    index = i;
+                    break;
+                }
+            }
+            types.add(index, type);
+            setters.add(index, setter);
+            getters.add(index, getter);
+        }
+
+        /**
+         * @return e.g. GRADIENT_OFFSET for gradientOffset
+         */
+        String getConstantName() {
+            final StringBuilder sb = new StringBuilder();
+            char c;
+            final int length = name.length();
+            for (int i = 0; i < length; i++) {
+                c = name.charAt(i);
+                if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(name.charAt(i - 1))) {
+                    sb.append('_');
+                }
+                sb.append(Character.isJavaIdentifierPart(c) ? Character.toUpperCase(c) : '_');
+            }
+            if (!Character.isJavaIdentifierStart(sb.charAt(0))) {
+                sb.insert(0, '_');
+            }
+            return sb.toString();
+        }
+
+        void appendDeclaration(StringBuilder sb) {
+            final boolean isFloat = kind == TypeKind.FLOAT;
+            final String propertyType = isFloat ? "FloatProperty<View>" : "IntProperty<View>";
+            final String literal = quote(name);
+            sb.append("    public static final ").append(propertyType).append(' ').append(constant)
+                    .append(" = new ").append(propertyType).append('(').append(literal).append(") {\n");
+
+            sb.append("        @Override\n");
+            sb.append("        public void setValue(View view, ").append(isFloat ? "float" : "int").append(" value) {\n");
+            final int size = types.size();
+            String type;
+            for (int i = 0; i < size; i++) {
+                type = types.get(i).getQualifiedName().toString();
+                sb.append(i == 0 ? "            if" : " else if").append(" (view instanceof ").append(type).append(") {\n");
+                sb.append("                ((").append(type).append(") view).").append(setters.get(i)).append("(value);\n");
+                sb.append("            }");
+            }
+            sb.append(" else {\n");
+            sb.append("                throw new IllegalArgumentException(view + \" does not have the property \" + ").append(literal).append(");\n");
+            sb.append("            }\n");
+            sb.append("        }\n\n");
+
+            sb.append("        @Override\n");
+            sb.append("        public ").append(isFloat ? "Float" : "Integer").append(" get(View view) {\n");
+            for (int i = 0; i < size; i++) {
+                if (getters.get(i) == null) {
+                    continue;
+                }
+                type = types.get(i).getQualifiedName().toString();
+                sb.append("            if (view instanceof ").append(type).append(") {\n");
+                sb.append("                return ((").append(type).append(") view).").append(getters.get(i)).append("();\n");
+                sb.append("            }\n");
+            }
+            //NineOldAndroids reads the property when setting up its animators, a setter-only property reads as 0
+            sb.append("            return ").append(isFloat ? "0f" : "0").append(";\n");
+            sb.append("        }\n");
+            sb.append("    };\n\n");
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,435 @@
+package com.kaichunlin.transition.adapter;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.kaichunlin.transition.DefaultTransitionManager;
+import com.kaichunlin.transition.Transition;
+import com.kaichunlin.transition.TransitionManager;
+import com.kaichunlin.transition.ViewTransition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter for RecyclerView, the transitions added to the adapter are templates applied to every item, the progress of
+ * an item being its position relative to the center of the RecyclerView: {@link #CENTER} when the item is centered,
+ * {@link #BEFORE_VIEWPORT} when it has just scrolled out above/left of the RecyclerView and {@link #AFTER_VIEWPORT}
+ * when it is just below/right of the RecyclerView.
+ * <p>
+ * The transitions of every visible item are evaluated together once per scroll frame, right before the frame is
+ * drawn. The clones of the transitions are kept when an item is recycled, and re-bound to the next item of the same
+ * view type.
+ * <p>
+ * {@link #startTransition(float)}, {@link #updateProgress(float)} and {@link #setProgress(float)} apply the same
+ * progress to every item laid out by the RecyclerView, until it is scrolled again.
+ */
+public class RecyclerViewScrollAdapter extends AbstractAdapter implements RecyclerView.RecyclerListener {
+    public static final float BEFORE_VIEWPORT = -1f;
+    public static final float CENTER = 0f;
+    public static final float AFTER_VIEWPORT = 1f;
+
+    @CheckResult
+    public static RecyclerViewScrollAdapter bind(@NonNull RecyclerView recyclerView) {
+        RecyclerViewScrollAdapter adapter = new RecyclerViewScrollAdapter(recyclerView);
+        adapter.init();
+        return adapter;
+    }
+
+    private final RecyclerView mRecyclerView;
+    private final RecyclerView.OnScrollListener mOnScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            RecyclerViewScrollAdapter.this.onScrollStateChanged(newState);
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            //also called after a layout, with dx and dy set to 0
+            scheduleUpdate();
+        }
+    };
+    //runs in the same frame as the scroll, onScrolled is called by the animation callback of a fling, or during layout
+    private final ViewTreeObserver.OnPreDrawListener mUpdateItems = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            cancelUpdate();
+            updateItems();
+            return true;
+        }
+    };
+    //item View -> its holder, the holder and its transitions reference the item until onViewRecycled() removes the entry
+    private final Map<View, ItemHolder> mHolderMap = new HashMap<>();
+    //holders bound to an item
+    private final List<ItemHolder> mBoundList = new ArrayList<>();
+    //view type -> holders of recycled items
+    private final SparseArray<List<ItemHolder>> mPools = new SparseArray<>();
+    private RecyclerView.RecyclerListener mRecyclerListener;
+    //the ViewTreeObserver mUpdateItems has been added to, null if no update is pending
+    private ViewTreeObserver mUpdateObserver;
+    //items evaluated and skipped during the last pass
+    private int mEvaluatedItemCount;
+    private int mSkippedItemCount;
+
+    public RecyclerViewScrollAdapter(@NonNull RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+    }
+
+    public void init() {
+        mRecyclerView.addOnScrollListener(mOnScrollListener);
+        mRecyclerView.setRecyclerListener(this);
+    }
+
+    /**
+     * Since the adapter is the RecyclerListener of the RecyclerView, a RecyclerListener needs to be set here instead
+     *
+     * @param recyclerListener
+     */
+    public void setRecyclerListener(@Nullable RecyclerView.RecyclerListener recyclerListener) {
+        mRecyclerListener = recyclerListener;
+    }
+
+    /**
+     * Starts the transitions of every item laid out by the RecyclerView at the given progress, calling it again before
+     * {@link #stopTransition()} has no effect
+     *
+     * @param progress
+     * @return true if the transitions have been started
+     */
+    @Override
+    public boolean startTransition(float progress) {
+        if (!startScroll()) {
+            return false;
+        }
+        updateProgress(progress);
+        return true;
+    }
+
+    /**
+     * Updates the transitions of every item laid out by the RecyclerView, started by {@link #startTransition(float)}
+     *
+     * @param value
+     */
+    @Override
+    public void updateProgress(float value) {
+        if (!getAdapterState().isTransiting()) {
+            return;
+        }
+        final List<Transition> transitionList = getTransitionManager().getTransitions();
+        ItemHolder holder;
+        final int size = mRecyclerView.getChildCount();
+        for (int i = 0; i < size; i++) {
+            holder = obtainHolder(mRecyclerView.getChildAt(i), transitionList);
+            if (!holder.mStarted) {
+                holder.start(transitionList);
+            }
+            holder.mLastProgress = value;
+            holder.mTransitionManager.updateProgress(value);
+        }
+    }
+
+    /**
+     * Seeks the transitions of every item laid out by the RecyclerView to the given progress
+     *
+     * @param progress
+     */
+    @Override
+    public void setProgress(float progress) {
+        final List<Transition> transitionList = getTransitionManager().getTransitions();
+        ItemHolder holder;
+        final int size = mRecyclerView.getChildCount();
+        for (int i = 0; i < size; i++) {
+            holder = obtainHolder(mRecyclerView.getChildAt(i), transitionList);
+            holder.mLastProgress = Float.NaN;
+            holder.mTransitionManager.setProgress(progress);
+        }
+    }
+
+    /**
+     * Starts a scroll without evaluating the items, their transitions are started by {@link #updateItems()} once the
+     * item is first evaluated
+     *
+     * @return true if the scroll has been started
+     */
+    private boolean startScroll() {
+        if (getAdapterState().isTransiting()) {
+            return false;
+        }
+        notifyTransitionStart();
+        getAdapterState().setTransiting(true);
+        return true;
+    }
+
+    @Override
+    public void stopTransition() {
+        if (!getAdapterState().isTransiting()) {
+            return;
+        }
+        getAdapterState().setTransiting(false);
+        notifyTransitionEnd();
+
+        final int size = mBoundList.size();
+        for (int i = 0; i < size; i++) {
+            mBoundList.get(i).stop();
+        }
+    }
+
+    /**
+     * @return number of items whose transitions were evaluated during the last pass
+     */
+    public int getEvaluatedItemCount() {
+        return mEvaluatedItemCount;
+    }
+
+    /**
+     * @return number of items skipped during the last pass, since they stayed outside of the range of every
+     * transition and their end state had already been written
+     */
+    public int getSkippedItemCount() {
+        return mSkippedItemCount;
+    }
+
+    private void onScrollStateChanged(int state) {
+        switch (state) {
+            case RecyclerView.SCROLL_STATE_IDLE:
+                if (getAdapterState().isTransiting()) {
+                    //applies the final positions before the transitions are stopped
+                    cancelUpdate();
+                    updateItems();
+                    stopTransition();
+                }
+                break;
+            case RecyclerView.SCROLL_STATE_DRAGGING:
+            case RecyclerView.SCROLL_STATE_SETTLING:
+                startScroll();
+                break;
+        }
+    }
+
+    private void scheduleUpdate() {
+        if (mUpdateObserver != null) {
+            return;
+        }
+        mUpdateObserver = mRecyclerView.getViewTreeObserver();
+        mUpdateObserver.addOnPreDrawListener(mUpdateItems);
+    }
+
+    private void cancelUpdate() {
+        if (mUpdateObserver == null) {
+            return;
+        }
+        if (mUpdateObserver.isAlive()) {
+            mUpdateObserver.removeOnPreDrawListener(mUpdateItems);
+        }
+        mUpdateObserver = null;
+    }
+
+    /**
+     * Evaluates the transitions of every item currently laid out by the RecyclerView, called before drawing each frame
+     * in which the RecyclerView has scrolled
+     */
+    @UiThread
+    public void updateItems() {
+        mEvaluatedItemCount = 0;
+        mSkippedItemCount = 0;
+        final RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        final List<Transition> transitionList = getTransitionManager().getTransitions();
+        if (layoutManager == null || transitionList.isEmpty()) {
+            return;
+        }
+        final boolean vertical = layoutManager.canScrollVertically();
+        final float viewportStart = vertical ? mRecyclerView.getPaddingTop() : mRecyclerView.getPaddingLeft();
+        final float viewportSize = vertical ? mRecyclerView.getHeight() - viewportStart - mRecyclerView.getPaddingBottom() :
+                mRecyclerView.getWidth() - viewportStart - mRecyclerView.getPaddingRight();
+        final float viewportCenter = viewportStart + viewportSize / 2;
+        final boolean transiting = getAdapterState().isTransiting();
+        View child;
+        ItemHolder holder;
+        //uses the layout position of the items, which the transitions' translations do not affect
+        float childSize;
+        float progress;
+        final int size = mRecyclerView.getChildCount();
+        for (int i = 0; i < size; i++) {
+            child = mRecyclerView.getChildAt(i);
+            childSize = vertical ? child.getHeight() : child.getWidth();
+            progress = ((vertical ? child.getTop() : child.getLeft()) + childSize / 2 - viewportCenter) / ((viewportSize + childSize) / 2);
+            holder = obtainHolder(child, transitionList);
+            if (!transiting) {
+                //e.g. items laid out while the RecyclerView is idle
+                holder.mLastProgress = Float.NaN;
+                holder.mTransitionManager.setProgress(progress);
+                mEvaluatedItemCount++;
+                continue;
+            }
+            if (!holder.mStarted) {
+                holder.start(transitionList);
+            }
+            if (holder.isSettled(progress)) {
+                mSkippedItemCount++;
+                continue;
+            }
+            mEvaluatedItemCount++;
+            holder.mTransitionManager.updateProgress(progress);
+        }
+    }
+
+    /**
+     * @return the holder of the item, a holder recycled from an item of the same view type or a new holder
+     */
+    private ItemHolder obtainHolder(@NonNull View child, @NonNull List<Transition> transitionList) {
+        ItemHolder holder = mHolderMap.get(child);
+        if (holder != null) {
+            if (!holder.isCloneOf(transitionList)) {
+                holder.stop();
+                holder.bind(child, transitionList);
+            }
+            return holder;
+        }
+        final int viewType = mRecyclerView.getChildViewHolder(child).getItemViewType();
+        List<ItemHolder> pool = mPools.get(viewType);
+        if (pool != null && !pool.isEmpty()) {
+            holder = pool.remove(pool.size() - 1);
+        } else {
+            holder = new ItemHolder(viewType);
+        }
+        holder.bind(child, transitionList);
+        mHolderMap.put(child, holder);
+        mBoundList.add(holder);
+        return holder;
+    }
+
+    @Override
+    public void onViewRecycled(RecyclerView.ViewHolder viewHolder) {
+        ItemHolder holder = mHolderMap.remove(viewHolder.itemView);
+        if (holder != null) {
+            mBoundList.remove(holder);
+            holder.unbind();
+            List<ItemHolder> pool = mPools.get(holder.mViewType);
+            if (pool == null) {
+                pool = new ArrayList<>();
+                mPools.put(holder.mViewType, pool);
+            }
+            pool.add(holder);
+        }
+        if (mRecyclerListener != null) {
+            mRecyclerListener.onViewRecycled(viewHolder);
+        }
+    }
+
+    /**
+     * Clones of the adapter's transitions bound to an item, kept when the item is recycled and re-bound to another
+     * item of the same view type
+     */
+    private static class ItemHolder {
+        final TransitionManager mTransitionManager = new DefaultTransitionManager();
+        final int mViewType;
+        //the adapter's transitions the clones were made from
+        Transition[] mSources;
+        View mItem;
+        boolean mStarted;
+        //union of the ranges of the transitions, and the progress the transitions were last evaluated at
+        float mMinProgress;
+        float mMaxProgress;
+        float mLastProgress = Float.NaN;
+
+        ItemHolder(int viewType) {
+            mViewType = viewType;
+        }
+
+        void bind(@NonNull View item, @NonNull List<Transition> transitionsList) {
+            if (!isCloneOf(transitionsList)) {
+                mTransitionManager.removeAllTransitions();
+                final int size = transitionsList.size();
+                mSources = transitionsList.toArray(new Transition[size]);
+                for (int i = 0; i < size; i++) {
+                    mTransitionManager.addTransition(transitionsList.get(i).clone());
+                }
+            }
+            mItem = item;
+            mLastProgress = Float.NaN;
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            for (int i = 0; i < size; i++) {
+                transitionList.get(i).setTarget(item);
+            }
+        }
+
+        void start(@NonNull List<Transition> transitionsList) {
+            //the adapter's transitions have changed since the clones were made
+            if (!isCloneOf(transitionsList)) {
+                bind(mItem, transitionsList);
+            }
+            mMinProgress = Float.POSITIVE_INFINITY;
+            mMaxProgress = Float.NEGATIVE_INFINITY;
+            mLastProgress = Float.NaN;
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            Transition transition;
+            for (int i = 0; i < size; i++) {
+                transition = transitionList.get(i);
+                transition.startTransition();
+                if (transition instanceof ViewTransition) {
+                    mMinProgress = Math.min(mMinProgress, ((ViewTransition) transition).getMinProgress());
+                    mMaxProgress = Math.max(mMaxProgress, ((ViewTransition) transition).getMaxProgress());
+                } else {
+                    mMinProgress = Float.NEGATIVE_INFINITY;
+                    mMaxProgress = Float.POSITIVE_INFINITY;
+                }
+            }
+            mStarted = true;
+        }
+
+        /**
+         * @param progress
+         * @return true if the progress and the last evaluated progress are past the same end of the range of every
+         * transition, in which case the item already has its clamped state and does not need to be evaluated
+         */
+        boolean isSettled(float progress) {
+            if (progress < mMinProgress && mLastProgress < mMinProgress || progress > mMaxProgress && mLastProgress > mMaxProgress) {
+                return true;
+            }
+            mLastProgress = progress;
+            return false;
+        }
+
+        void stop() {
+            if (!mStarted) {
+                return;
+            }
+            mTransitionManager.stopTransition();
+            mStarted = false;
+        }
+
+        void unbind() {
+            stop();
+            mItem = null;
+            //the controllers are kept, see ViewTransition.setTarget()
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            final int size = transitionList.size();
+            for (int i = 0; i < size; i++) {
+                transitionList.get(i).setTarget(null);
+            }
+        }
+
+        boolean isCloneOf(@NonNull List<Transition> transitionsList) {
+            final int size = transitionsList.size();
+            if (mSources == null || mSources.length != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (mSources[i] != transitionsList.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -24,8 +24,10 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
 
     @Override
     public void onPanelSlide(View panel, float slideOffset) {
-        startTransition();
-        getTransitionManager().updateProgress(slideOffset);
+        //the first callback of a gesture starts the transitions at the current offset
+        if (!startTransition(slideOffset)) {
+            updateProgress(slideOffset);
+        }
 
         if (mListener != null) {
             mListener.onPanelSlide(panel, slideOffset);